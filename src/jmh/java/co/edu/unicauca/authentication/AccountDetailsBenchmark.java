@@ -0,0 +1,54 @@
+package co.edu.unicauca.authentication;
+
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de {@link AccountDetails} y resolución de sus authorities, tal como ocurre en cada
+ * petición autenticada (desde la caché de cuentas o desde los claims del token).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountDetailsBenchmark {
+
+    private Account account;
+    private AccountDetails details;
+    private VerifiedToken token;
+
+    @Setup
+    public void setUp() {
+        account = new Account();
+        account.setIdAccount(42L);
+        account.setEmail("bench@unicauca.edu.co");
+        account.setRoles(EnumSet.of(Role.STUDENT, Role.COORDINATOR));
+        details = new AccountDetails(account);
+        token = VerifiedToken.valid(42L, "bench@unicauca.edu.co", EnumSet.of(Role.STUDENT, Role.COORDINATOR),
+                "jti", Instant.now(), Instant.now().plusSeconds(900));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return details.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> fromAccount() {
+        return new AccountDetails(account).getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> fromVerifiedToken() {
+        return AccountDetails.fromVerifiedToken(token).getAuthorities();
+    }
+}
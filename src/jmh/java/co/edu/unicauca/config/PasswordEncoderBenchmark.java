@@ -0,0 +1,45 @@
+package co.edu.unicauca.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificación y verificación de contraseñas con el codificador configurado en {@link BeansConfig}
+ * (incluye la delegación por prefijo y el temporizador de métricas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"bcrypt", "pbkdf2"})
+    private String algorithm;
+
+    @Param({"10"})
+    private int bcryptStrength;
+
+    private PasswordEncoder passwordEncoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BeansConfig().passwordEncoder(new SimpleMeterRegistry(), algorithm, bcryptStrength, 250);
+        encoded = passwordEncoder.encode("123456");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("123456");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("123456", encoded);
+    }
+}
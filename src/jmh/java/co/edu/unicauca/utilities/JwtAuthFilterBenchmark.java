@@ -0,0 +1,41 @@
+package co.edu.unicauca.utilities;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decisión de {@link JwtAuthFilter#shouldNotFilter} (incluye la lectura de la ruta de la petición) para
+ * una ruta pública exacta, una bajo un prefijo público y una protegida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"/auth/login", "/auth/validate-role/42/STUDENT", "/users/export"})
+    private String path;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        PublicRouteMatcher publicRoutes = new PublicRouteMatcher(List.of(
+                "/auth/login", "/auth/register", "/auth/validate-role/**", "/.well-known/jwks.json",
+                "/h2-console/**", "/actuator/health/**", "/actuator/prometheus"));
+        filter = new JwtAuthFilter(null, null, null, null, publicRoutes, new SimpleMeterRegistry(), true);
+        request = new MockHttpServletRequest("GET", path);
+    }
+
+    @Benchmark
+    public boolean shouldNotFilter() {
+        return filter.shouldNotFilter(request);
+    }
+}
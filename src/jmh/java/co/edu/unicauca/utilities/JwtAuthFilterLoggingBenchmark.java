@@ -0,0 +1,93 @@
+package co.edu.unicauca.utilities;
+
+import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.repositories.RevokedTokenRepository;
+import co.edu.unicauca.services.AccountRevocationChecker;
+import co.edu.unicauca.services.TokenRevocationService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthFilter#doFilterInternal} completo para un token válido (modo sin estado, como en la
+ * configuración por defecto) con el nivel del {@link Logger} habilitado ({@code INFO}: se registran el
+ * token detectado y la autenticación) y deshabilitado ({@code WARN}). El logger es asíncrono, como en
+ * producción, y escribe en un flujo descartado para no mezclar su salida con la de JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterLoggingBenchmark {
+
+    @Param({"INFO", "WARN"})
+    private String level;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        // Antes de la primera llamada al logger, que toma System.out al cargarse
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Logger.configure(Logger.Level.valueOf(level), false, true, 8192);
+
+        JwtKeyRing keyRing = new JwtKeyRing("0123456789abcdef0123456789abcdef0123456789", "k1", List.of(),
+                SignatureAlgorithm.HS256, "", true, 0, 900_000);
+        JwtUtils jwtUtils = new JwtUtils(keyRing);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900_000);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccountRevocationChecker revocationChecker = new AccountRevocationChecker(
+                repository(AccountRepository.class), meterRegistry, true, 30_000, 10_000);
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(
+                repository(RevokedTokenRepository.class), meterRegistry, 900_000, 100_000, 0.01, 30_000);
+        PublicRouteMatcher publicRoutes = new PublicRouteMatcher(List.of("/auth/login"));
+        filter = new JwtAuthFilter(jwtUtils, null, revocationChecker, tokenRevocationService, publicRoutes,
+                meterRegistry, true);
+
+        Account account = new Account();
+        account.setIdAccount(42L);
+        account.setEmail("bench@unicauca.edu.co");
+        account.setRoles(EnumSet.of(Role.STUDENT));
+        request = new MockHttpServletRequest("GET", "/users/export");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateJwtToken(new AccountDetails(account)));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, chain);
+        SecurityContextHolder.clearContext();
+    }
+
+    // Repositorio sin base de datos: toda cuenta existe y no hay tokens revocados
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "existsById" -> true;
+                    case "findActiveKeys" -> List.of();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
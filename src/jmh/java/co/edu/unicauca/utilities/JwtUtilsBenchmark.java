@@ -0,0 +1,93 @@
+package co.edu.unicauca.utilities;
+
+import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emisión y verificación de tokens de acceso con cada algoritmo de firma soportado.
+ *
+ * <p>{@link #parsePerCallBaseline} reproduce la lectura anterior a {@link JwtKeyRing}, que construía la
+ * clave HMAC y el parser en cada llamada; siempre usa un token HS256, el único algoritmo que existía, y
+ * se compara con {@link #getAccountIdFromJwtToken} con {@code algorithm=HS256}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    @Param({"HS256", "RS256"})
+    private String algorithm;
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789";
+
+    private JwtUtils jwtUtils;
+    private AccountDetails accountDetails;
+    private String token;
+    private String hs256Token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, "k1", List.of(),
+                SignatureAlgorithm.forName(algorithm), "", true, 0, 900_000);
+        jwtUtils = new JwtUtils(keyRing);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900_000);
+
+        Account account = new Account();
+        account.setIdAccount(42L);
+        account.setEmail("bench@unicauca.edu.co");
+        account.setRoles(EnumSet.of(Role.STUDENT, Role.COORDINATOR));
+        accountDetails = new AccountDetails(account);
+        token = jwtUtils.generateJwtToken(accountDetails);
+        hs256Token = Jwts.builder()
+                .claim("idAccount", 42L)
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(accountDetails);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Long getAccountIdFromJwtToken() {
+        return jwtUtils.getAccountIdFromJwtToken(token);
+    }
+
+    @Benchmark
+    public Long parsePerCallBaseline() {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(hs256Token)
+                .getBody();
+        return claims.get("idAccount", Long.class);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtils.verify(token);
+    }
+}
@@ -0,0 +1,42 @@
+package co.edu.unicauca.utilities;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del {@link Logger} en las rutas de autenticación: una llamada con el nivel deshabilitado, que
+ * no debe formatear nada, frente al formateo del mensaje que se paga cuando el nivel está habilitado.
+ * No se mide la escritura en consola para no mezclar la salida del benchmark con la de JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    private Long accountId = 42L;
+    private String email = "bench@unicauca.edu.co";
+
+    @Setup
+    public void setUp() {
+        Logger.configure(Logger.Level.WARN, false, true, 1024);
+    }
+
+    @Benchmark
+    public void disabledLevel() {
+        Logger.info(LoggerBenchmark.class, "Account ID found: {} for email: {}", accountId, Logger.maskEmail(email));
+    }
+
+    @Benchmark
+    public String format() {
+        return Logger.format("Account ID found: {} for email: {}", new Object[]{accountId, Logger.maskEmail(email)});
+    }
+
+    @Benchmark
+    public String concatenation() {
+        return "Account ID found: " + accountId + " for email: " + Logger.maskEmail(email);
+    }
+}
@@ -0,0 +1,75 @@
+package co.edu.unicauca.utilities;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clasificación de una ruta como pública con {@link PublicRouteMatcher} (árbol compilado a partir de
+ * {@code security.publicRoutes} de {@code application.properties}), frente a la evaluación de la misma
+ * lista como {@link PathPattern} de Spring, uno tras otro, y frente a la cadena de
+ * {@code startsWith}/{@code endsWith} que usaba antes {@code JwtAuthFilter.shouldNotFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicRouteMatcherBenchmark {
+
+    @Param({"/auth/login", "/auth/validate-role/42/STUDENT", "/actuator/prometheus", "/users/export"})
+    private String path;
+
+    private PublicRouteMatcher matcher;
+    private List<PathPattern> pathPatterns;
+
+    @Setup
+    public void setUp() throws IOException {
+        String routes = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))
+                .getProperty("security.publicRoutes");
+        List<String> patterns = Arrays.stream(routes.split(",")).map(String::strip).toList();
+        matcher = new PublicRouteMatcher(patterns);
+        pathPatterns = patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Benchmark
+    public boolean compiledMatcher() {
+        return matcher.matches(path);
+    }
+
+    @Benchmark
+    public boolean pathPatterns() {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : pathPatterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean legacyChain() {
+        return path.startsWith("/auth/") ||
+                path.startsWith("/.well-known/") ||
+                path.startsWith("/actuator/") ||
+                path.startsWith("/h2-console") ||
+                path.equals("/favicon.ico") ||
+                path.startsWith("/degreework/create") ||
+                path.endsWith(".css") ||
+                path.endsWith(".js") ||
+                path.endsWith(".gif") ||
+                path.endsWith(".png") ||
+                path.endsWith(".jpg") ||
+                path.endsWith(".ico");
+    }
+}
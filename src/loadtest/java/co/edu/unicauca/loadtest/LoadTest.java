@@ -0,0 +1,286 @@
+package co.edu.unicauca.loadtest;
+
+import co.edu.unicauca.AuthServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga con una mezcla reproducible de peticiones al servicio de autenticación.
+ *
+ * <p>Sin {@code --target} inicia una instancia embebida (H2 en memoria, puerto aleatorio) con
+ * {@code --users} estudiantes sintéticos. Cada hilo elige operaciones según los pesos de {@code --mix}
+ * con un generador aleatorio de semilla fija ({@code --seed}), por lo que dos ejecuciones con las mismas
+ * opciones envían la misma secuencia de operaciones.</p>
+ *
+ * <p>Con {@code --rate} la carga es de tasa fija y la latencia se mide desde el instante en que la
+ * petición debía enviarse, de modo que las esperas causadas por un servicio lento se reflejan en los
+ * percentiles (omisión coordinada). Sin {@code --rate} cada hilo envía la siguiente petición en cuanto
+ * recibe la respuesta anterior.</p>
+ *
+ * <p>Al terminar imprime, por operación, el throughput y los percentiles p50/p99/p999, y guarda los
+ * mismos datos en {@code --output} (JSON) para comparar ejecuciones.</p>
+ */
+public final class LoadTest {
+
+    // Latencias registradas en microsegundos, hasta 60 s, con 3 dígitos significativos
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ConfigurableApplicationContext context = null;
+        int exitCode = 0;
+        try {
+            String baseUrl = options.target;
+            if (baseUrl.isEmpty()) {
+                context = startEmbedded(options);
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newFixedThreadPool(Math.max(2, options.concurrency / 4)))
+                    .build();
+            Workload workload = Workload.prepare(client, mapper, baseUrl, options.users, options.password);
+            System.out.printf("Carga sobre %s: %d hilos, %s, mezcla %s, %d usuarios, calentamiento %d s, medición %d s%n",
+                    baseUrl, options.concurrency, options.rate > 0 ? options.rate + " ops/s" : "lazo cerrado",
+                    mixDescription(options), workload.userCount(), options.warmup.toSeconds(), options.duration.toSeconds());
+
+            Map<Operation, Result> results = run(options, client, workload);
+            print(results, options.duration);
+            write(mapper, options, baseUrl, results);
+        } catch (Exception e) {
+            System.err.println("La prueba de carga falló: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static String mixDescription(LoadTestOptions options) {
+        StringBuilder description = new StringBuilder();
+        options.mix.forEach((operation, weight) -> description.append(description.isEmpty() ? "" : ",")
+                .append(operation.key()).append('=').append(weight));
+        return description.toString();
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(LoadTestOptions options) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        // Instancia efímera: firma con un par de claves RSA generado al iniciar
+        properties.put("spring.profiles.active", "dev");
+        // Sin puerto de administración: la prueba no consulta actuator y así no choca con otra instancia
+        properties.put("management.server.port", -1);
+        properties.put("seed.syntheticUsers", options.users);
+        properties.put("seed.syntheticPassword", options.password);
+        properties.put("logger.level", "WARN");
+        properties.put("spring.jpa.show-sql", false);
+        // Todas las peticiones llegan desde la misma IP; se puede reactivar con --app.loginThrottle.enabled=true
+        properties.put("loginThrottle.enabled", false);
+        properties.putAll(options.appProperties);
+
+        // Como argumentos de línea de comandos para que tengan prioridad sobre application.properties
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return SpringApplication.run(AuthServiceApplication.class, args.toArray(String[]::new));
+    }
+
+    private static Map<Operation, Result> run(LoadTestOptions options, HttpClient client, Workload workload)
+            throws Exception {
+        List<Operation> operations = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                operations.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        int totalWeight = total;
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        long period = options.rate > 0 ? (long) (options.concurrency * 1e9 / options.rate) : 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        List<Future<Map<Operation, Result>>> futures = new ArrayList<>();
+        for (int w = 0; w < options.concurrency; w++) {
+            SplittableRandom random = new SplittableRandom(options.seed + w);
+            // Con tasa fija los hilos se desfasan para no enviar todos a la vez
+            long firstSend = start + (period > 0 ? period * w / options.concurrency : 0);
+            futures.add(workers.submit(() -> {
+                Map<Operation, Result> local = new EnumMap<>(Operation.class);
+                long intended = firstSend;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (period > 0) {
+                        if (intended - now > 0) {
+                            LockSupport.parkNanos(intended - now);
+                        }
+                    } else {
+                        intended = now;
+                    }
+                    if (intended - end >= 0) {
+                        break;
+                    }
+
+                    int pick = random.nextInt(totalWeight);
+                    int index = 0;
+                    while (cumulative.get(index) <= pick) {
+                        index++;
+                    }
+                    Operation operation = operations.get(index);
+
+                    int status;
+                    try {
+                        status = client.send(operation.request(workload, random), HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long latencyMicros = (System.nanoTime() - intended) / 1000;
+
+                    if (intended - measureFrom >= 0) {
+                        local.computeIfAbsent(operation, op -> new Result()).record(latencyMicros, status);
+                    }
+                    if (period > 0) {
+                        intended += period;
+                    }
+                }
+                return local;
+            }));
+        }
+
+        Map<Operation, Result> results = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Result>> future : futures) {
+            future.get().forEach((operation, result) ->
+                    results.computeIfAbsent(operation, op -> new Result()).add(result));
+        }
+        workers.shutdown();
+        return results;
+    }
+
+    private static void print(Map<Operation, Result> results, Duration duration) {
+        System.out.printf("%n%-14s %9s %8s %10s %10s %10s %10s %10s%n",
+                "operación", "peticiones", "errores", "ops/s", "p50 ms", "p99 ms", "p999 ms", "máx ms");
+        Result all = new Result();
+        results.forEach((operation, result) -> {
+            printRow(operation.key(), result, duration);
+            all.add(result);
+        });
+        printRow("total", all, duration);
+    }
+
+    private static void printRow(String name, Result result, Duration duration) {
+        Histogram h = result.histogram;
+        System.out.printf("%-14s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", name, h.getTotalCount(), result.errors,
+                h.getTotalCount() / (duration.toMillis() / 1000.0), ms(h.getValueAtPercentile(50)),
+                ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+    }
+
+    private static void write(ObjectMapper mapper, LoadTestOptions options, String baseUrl,
+                              Map<Operation, Result> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", options.label);
+        report.put("target", options.target.isEmpty() ? "embedded" : baseUrl);
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("concurrency", options.concurrency);
+        report.put("rate", options.rate);
+        report.put("warmupSeconds", options.warmup.toSeconds());
+        report.put("durationSeconds", options.duration.toSeconds());
+        report.put("seed", options.seed);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix.forEach((operation, weight) -> mix.put(operation.key(), weight));
+        report.put("mix", mix);
+        report.put("appProperties", options.appProperties);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        Result all = new Result();
+        results.forEach((operation, result) -> {
+            operations.put(operation.key(), summary(result, options.duration));
+            all.add(result);
+        });
+        report.put("operations", operations);
+        report.put("total", summary(all, options.duration));
+
+        File file = new File(options.output);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        mapper.writeValue(file, report);
+        System.out.println("\nResultados guardados en " + file.getAbsolutePath());
+    }
+
+    private static Map<String, Object> summary(Result result, Duration duration) {
+        Histogram h = result.histogram;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", h.getTotalCount());
+        summary.put("errors", result.errors);
+        summary.put("throughput", h.getTotalCount() / (duration.toMillis() / 1000.0));
+        summary.put("meanMs", h.getTotalCount() == 0 ? 0 : h.getMean() / 1000.0);
+        summary.put("p50Ms", ms(h.getValueAtPercentile(50)));
+        summary.put("p90Ms", ms(h.getValueAtPercentile(90)));
+        summary.put("p99Ms", ms(h.getValueAtPercentile(99)));
+        summary.put("p999Ms", ms(h.getValueAtPercentile(99.9)));
+        summary.put("maxMs", ms(h.getMaxValue()));
+        summary.put("statusCodes", result.statusCodes);
+        return summary;
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Latencias y códigos de respuesta de una operación. Cada hilo usa sus propias instancias, que se
+     * combinan al final, para no sincronizar en el lazo de medición.
+     */
+    private static final class Result {
+        final Histogram histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+        final Map<Integer, Long> statusCodes = new TreeMap<>();
+        long errors;
+
+        void record(long latencyMicros, int status) {
+            histogram.recordValue(Math.min(Math.max(latencyMicros, 1), MAX_LATENCY_MICROS));
+            statusCodes.merge(status, 1L, Long::sum);
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        void add(Result other) {
+            histogram.add(other.histogram);
+            other.statusCodes.forEach((status, count) -> statusCodes.merge(status, count, Long::sum));
+            errors += other.errors;
+        }
+    }
+}
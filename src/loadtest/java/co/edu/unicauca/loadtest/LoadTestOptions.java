@@ -0,0 +1,91 @@
+package co.edu.unicauca.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opciones de la prueba de carga, leídas de argumentos {@code --clave=valor}.
+ *
+ * <p>Los argumentos {@code --app.<propiedad>=valor} no son opciones de la prueba: se pasan como
+ * propiedades a la instancia embebida (por ejemplo {@code --app.spring.threads.virtual.enabled=true}).</p>
+ */
+final class LoadTestOptions {
+
+    static final String DEFAULT_MIX = "login=20,register=5,validateRole=30,accountId=25,protected=20";
+
+    /** URL base de un servicio ya iniciado; vacía para iniciar una instancia embebida con H2. */
+    String target = "";
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    int concurrency = 32;
+    /** Operaciones por segundo en total; 0 para lazo cerrado (cada hilo envía en cuanto recibe respuesta). */
+    double rate = 0;
+    Map<Operation, Integer> mix = parseMix(DEFAULT_MIX);
+    /** Cantidad de estudiantes sintéticos ({@code student<N>@seed.unicauca.edu.co}) usados por la prueba. */
+    int users = 1000;
+    String password = "123456";
+    long seed = 42;
+    String label = "";
+    String output = "target/loadtest-result.json";
+    final Map<String, Object> appProperties = new LinkedHashMap<>();
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Argumento inválido, se esperaba --clave=valor: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("app.")) {
+                options.appProperties.put(key.substring(4), value);
+                continue;
+            }
+            switch (key) {
+                case "target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "password" -> options.password = value;
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "label" -> options.label = value;
+                case "output" -> options.output = value;
+                default -> throw new IllegalArgumentException("Opción desconocida: " + key);
+            }
+        }
+        if (options.concurrency < 1 || options.users < 1) {
+            throw new IllegalArgumentException("concurrency y users deben ser mayores que 0");
+        }
+        return options;
+    }
+
+    /**
+     * Lee pesos {@code operacion=peso,...}; las operaciones omitidas tienen peso 0.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mezcla inválida, se esperaba operacion=peso: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].strip());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo para " + parts[0]);
+            }
+            mix.put(Operation.fromKey(parts[0].strip()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso mayor que 0");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,96 @@
+package co.edu.unicauca.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Operaciones de la mezcla de carga, con la petición HTTP que envía cada una.
+ */
+enum Operation {
+
+    /** Inicio de sesión de un estudiante sintético (incluye la verificación de la contraseña). */
+    LOGIN("login") {
+        @Override
+        HttpRequest request(Workload workload, SplittableRandom random) {
+            String email = workload.studentEmail(random);
+            return post(workload, "/auth/login",
+                    "{\"email\":\"" + email + "\",\"password\":\"" + workload.password() + "\"}").build();
+        }
+    },
+
+    /** Registro de un usuario nuevo con correo único (incluye el hash de la contraseña). */
+    REGISTER("register") {
+        @Override
+        HttpRequest request(Workload workload, SplittableRandom random) {
+            return post(workload, "/auth/register",
+                    "{\"user\":{\"names\":\"Carga\",\"lastNames\":\"Prueba\"},"
+                            + "\"account\":{\"email\":\"" + workload.newEmail() + "\",\"password\":\""
+                            + workload.password() + "\"},\"roles\":[\"STUDENT\"]}").build();
+        }
+    },
+
+    /** Validación de rol de una cuenta, como la que hacen los demás microservicios. */
+    VALIDATE_ROLE("validateRole") {
+        @Override
+        HttpRequest request(Workload workload, SplittableRandom random) {
+            return get(workload, "/auth/validate-role/" + workload.studentAccountId(random) + "/STUDENT").build();
+        }
+    },
+
+    /** Búsqueda del ID de cuenta por correo. */
+    ACCOUNT_ID("accountId") {
+        @Override
+        HttpRequest request(Workload workload, SplittableRandom random) {
+            return get(workload, "/auth/account-id?userEmail="
+                    + URLEncoder.encode(workload.studentEmail(random), StandardCharsets.UTF_8)).build();
+        }
+    },
+
+    /** Endpoint protegido con JWT: recorre el filtro de autenticación y la autorización por rol. */
+    PROTECTED("protected") {
+        @Override
+        HttpRequest request(Workload workload, SplittableRandom random) {
+            return get(workload, "/users?size=20")
+                    .header("Authorization", "Bearer " + workload.coordinatorToken())
+                    .build();
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest request(Workload workload, SplittableRandom random);
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + key);
+    }
+
+    private static HttpRequest.Builder get(Workload workload, String path) {
+        return HttpRequest.newBuilder(URI.create(workload.baseUrl() + path)).timeout(TIMEOUT).GET();
+    }
+
+    private static HttpRequest.Builder post(Workload workload, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(workload.baseUrl() + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
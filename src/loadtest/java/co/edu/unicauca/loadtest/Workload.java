@@ -0,0 +1,105 @@
+package co.edu.unicauca.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Datos compartidos por las operaciones: URL del servicio, estudiantes sintéticos con sus IDs de cuenta
+ * y el token del coordinador usado en las llamadas protegidas.
+ */
+final class Workload {
+
+    private static final int LOOKUP_BATCH = 5000;
+
+    private final String baseUrl;
+    private final String password;
+    private final List<String> studentEmails;
+    private final long[] studentAccountIds;
+    private final String coordinatorToken;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong registered = new AtomicLong();
+
+    private Workload(String baseUrl, String password, List<String> studentEmails, long[] studentAccountIds,
+                     String coordinatorToken) {
+        this.baseUrl = baseUrl;
+        this.password = password;
+        this.studentEmails = studentEmails;
+        this.studentAccountIds = studentAccountIds;
+        this.coordinatorToken = coordinatorToken;
+    }
+
+    /**
+     * Resuelve los IDs de los estudiantes sintéticos y obtiene el token del coordinador.
+     *
+     * @throws IllegalStateException si el servicio no tiene los usuarios esperados
+     */
+    static Workload prepare(HttpClient client, ObjectMapper mapper, String baseUrl, int users, String password)
+            throws IOException, InterruptedException {
+        List<String> emails = new ArrayList<>(users);
+        List<Long> ids = new ArrayList<>(users);
+        for (int from = 1; from <= users; from += LOOKUP_BATCH) {
+            List<String> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + LOOKUP_BATCH, users + 1); i++) {
+                batch.add("student" + i + "@seed.unicauca.edu.co");
+            }
+            JsonNode found = mapper.readTree(send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/auth/account-ids"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(batch)))
+                    .build()));
+            for (String email : batch) {
+                if (found.has(email)) {
+                    emails.add(email);
+                    ids.add(found.get(email).asLong());
+                }
+            }
+        }
+        if (emails.isEmpty()) {
+            throw new IllegalStateException("El servicio no tiene estudiantes sintéticos; "
+                    + "inicielo con seed.syntheticUsers=" + users);
+        }
+
+        JsonNode login = mapper.readTree(send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"coordinador@unicauca.edu.co\",\"password\":\"123456\"}"))
+                .build()));
+
+        return new Workload(baseUrl, password, emails, ids.stream().mapToLong(Long::longValue).toArray(),
+                login.get("token").asText());
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " respondió " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    String baseUrl() { return baseUrl; }
+    String password() { return password; }
+    String coordinatorToken() { return coordinatorToken; }
+    int userCount() { return studentEmails.size(); }
+
+    String studentEmail(SplittableRandom random) {
+        return studentEmails.get(random.nextInt(studentEmails.size()));
+    }
+
+    long studentAccountId(SplittableRandom random) {
+        return studentAccountIds[random.nextInt(studentAccountIds.length)];
+    }
+
+    String newEmail() {
+        return "load-" + runId + "-" + registered.incrementAndGet() + "@load.unicauca.edu.co";
+    }
+}
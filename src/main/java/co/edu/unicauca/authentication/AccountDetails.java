@@ -1,12 +1,13 @@
 package co.edu.unicauca.authentication;
 
 import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
  * Clase que implementa la interfaz {@link UserDetails} de Spring Security.
@@ -21,28 +22,87 @@ public class AccountDetails implements UserDetails {
     /** Entidad que representa la cuenta del usuario autenticado. */
     private final Account account;
 
+    /** Authorities compartidas correspondientes a los roles de la cuenta, resueltas una sola vez. */
+    private final List<GrantedAuthority> authorities;
+
+    /** Indica si la cuenta está bloqueada temporalmente por intentos de inicio de sesión fallidos. */
+    private final boolean locked;
+
     /**
      * Constructor que recibe la cuenta asociada al usuario autenticado.
      *
      * @param account instancia de {@link Account} que contiene la información del usuario.
      */
     public AccountDetails(Account account) {
+        this(account, false);
+    }
+
+    /**
+     * Constructor que recibe la cuenta y su estado de bloqueo temporal.
+     *
+     * @param account instancia de {@link Account} que contiene la información del usuario.
+     * @param locked {@code true} si la cuenta superó el límite de intentos fallidos.
+     */
+    public AccountDetails(Account account, boolean locked) {
         this.account = account;
+        this.authorities = Role.authorities(Role.toMask(account.getRoles()));
+        this.locked = locked;
+    }
+
+    /**
+     * Construye los detalles de la cuenta a partir de los claims de un token ya verificado,
+     * sin consultar la base de datos. La cuenta resultante no contiene contraseña.
+     *
+     * @param token resultado válido de {@code JwtUtils.verify}
+     * @return detalles de la cuenta con su ID, correo y roles
+     */
+    public static AccountDetails fromVerifiedToken(VerifiedToken token) {
+        Account account = new Account();
+        account.setIdAccount(token.accountId());
+        account.setEmail(token.email());
+        account.setRoles(token.roles());
+        return new AccountDetails(account);
+    }
+
+    /**
+     * Construye los detalles de un correo que no corresponde a ninguna cuenta.
+     *
+     * <p>La cuenta no tiene ID ni roles y su contraseña es un hash ficticio con el costo del
+     * codificador real, de modo que el login de un correo inexistente sigue el mismo camino que una
+     * contraseña incorrecta. Nunca debe aceptarse como autenticada; ver {@link #isUnknown()}.</p>
+     *
+     * @param email correo buscado
+     * @param dummyPasswordHash hash de una contraseña aleatoria desconocida
+     * @param locked {@code true} si el correo superó el límite de intentos fallidos
+     * @return detalles de una cuenta inexistente
+     */
+    public static AccountDetails unknown(String email, String dummyPasswordHash, boolean locked) {
+        Account account = new Account();
+        account.setEmail(email);
+        account.setPassword(dummyPasswordHash);
+        return new AccountDetails(account, locked);
+    }
+
+    /**
+     * Indica si estos detalles representan un correo sin cuenta (creados con {@link #unknown}).
+     *
+     * @return {@code true} si la cuenta no existe.
+     */
+    public boolean isUnknown() {
+        return account.getIdAccount() == null;
     }
 
     /**
      * Devuelve la colección de roles (authorities) que posee el usuario.
      *
-     * Cada rol del usuario se transforma en un objeto {@link SimpleGrantedAuthority},
-     * que es el formato reconocido por Spring Security.
+     * Cada rol del usuario se representa con la instancia de {@link SimpleGrantedAuthority}
+     * precalculada en {@link Role#authority()}, el formato reconocido por Spring Security.
      *
      * @return colección de objetos {@link GrantedAuthority} con los roles del usuario.
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return account.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.name()))
-                .collect(Collectors.toList());
+        return authorities;
     }
 
     /**
@@ -78,11 +138,14 @@ public class AccountDetails implements UserDetails {
     /**
      * Indica si la cuenta del usuario está bloqueada.
      *
-     * @return siempre {@code true}, lo que indica que la cuenta no está bloqueada.
+     * <p>Spring Security lo revisa antes de verificar la contraseña, por lo que una cuenta bloqueada
+     * se rechaza sin ejecutar el codificador.</p>
+     *
+     * @return {@code false} mientras la cuenta esté bloqueada temporalmente por intentos fallidos.
      */
     @Override
     public boolean isAccountNonLocked() {
-        return true;
+        return !locked;
     }
 
     /**
@@ -98,11 +161,11 @@ public class AccountDetails implements UserDetails {
     /**
      * Indica si la cuenta del usuario está habilitada.
      *
-     * @return siempre {@code true}, lo que indica que la cuenta está activa.
+     * @return {@code false} si la cuenta fue deshabilitada; Spring Security rechaza entonces el login.
      */
     @Override
     public boolean isEnabled() {
-        return true;
+        return account.isEnabled();
     }
 
     /**
@@ -0,0 +1,58 @@
+package co.edu.unicauca.authentication;
+
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Copia inmutable de los datos de autenticación de una {@link Account}.
+ *
+ * <p>Es el valor que se guarda en la caché de cuentas: no depende de la sesión de
+ * Hibernate y puede compartirse entre hilos sin sincronización.</p>
+ *
+ * @param id ID de la cuenta
+ * @param email correo de la cuenta
+ * @param password contraseña codificada
+ * @param roles roles de la cuenta
+ * @param enabled {@code false} si la cuenta fue deshabilitada
+ */
+public record AccountSnapshot(Long id, String email, String password, Set<Role> roles, boolean enabled) {
+
+    public AccountSnapshot {
+        roles = roles.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(roles));
+    }
+
+    /**
+     * Crea la copia a partir de la entidad cargada desde la base de datos.
+     */
+    public static AccountSnapshot from(Account account) {
+        return new AccountSnapshot(account.getIdAccount(), account.getEmail(), account.getPassword(),
+                account.getRoles(), account.isEnabled());
+    }
+
+    /**
+     * @return {@code true} si la cuenta tiene el rol indicado
+     */
+    public boolean hasRole(Role role) {
+        return roles.contains(role);
+    }
+
+    /**
+     * Reconstruye una entidad {@link Account} desvinculada de la base de datos,
+     * útil para crear {@link AccountDetails}.
+     */
+    public Account toAccount() {
+        Account account = new Account();
+        account.setIdAccount(id);
+        account.setEmail(email);
+        account.setPassword(password);
+        account.setRoles(roles.isEmpty() ? EnumSet.noneOf(Role.class) : EnumSet.copyOf(roles));
+        account.setEnabled(enabled);
+        return account;
+    }
+}
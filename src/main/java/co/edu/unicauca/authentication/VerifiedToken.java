@@ -0,0 +1,64 @@
+package co.edu.unicauca.authentication;
+
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.enums.TokenRejectReason;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resultado inmutable de verificar un token JWT.
+ *
+ * <p>Si el token es válido contiene el ID de la cuenta, sus roles y la fecha de expiración;
+ * si no lo es, solo contiene el motivo del rechazo. Los resultados de rechazo son instancias
+ * compartidas, por lo que rechazar un token no genera objetos nuevos.</p>
+ *
+ * @param accountId ID de la cuenta (claim {@code idAccount})
+ * @param email correo de la cuenta (claim {@code email}), puede ser {@code null} en tokens antiguos
+ * @param roles roles contenidos en el token
+ * @param tokenId identificador único del token (claim {@code jti}), {@code null} en tokens antiguos
+ * @param issuedAt instante de emisión del token (claim {@code iat}), puede ser {@code null}
+ * @param expiresAt instante de expiración del token
+ * @param rejectReason motivo del rechazo o {@code null} si el token es válido
+ */
+public record VerifiedToken(Long accountId, String email, Set<Role> roles, String tokenId, Instant issuedAt,
+                            Instant expiresAt, TokenRejectReason rejectReason) {
+
+    private static final Map<TokenRejectReason, VerifiedToken> REJECTIONS = new EnumMap<>(TokenRejectReason.class);
+
+    static {
+        for (TokenRejectReason reason : TokenRejectReason.values()) {
+            REJECTIONS.put(reason, new VerifiedToken(null, null, Set.of(), null, null, null, reason));
+        }
+    }
+
+    public VerifiedToken {
+        roles = roles.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(roles));
+    }
+
+    /**
+     * Crea el resultado de un token verificado correctamente.
+     */
+    public static VerifiedToken valid(Long accountId, String email, Set<Role> roles, String tokenId,
+                                      Instant issuedAt, Instant expiresAt) {
+        return new VerifiedToken(accountId, email, roles, tokenId, issuedAt, expiresAt, null);
+    }
+
+    /**
+     * Devuelve el resultado compartido para un token rechazado por el motivo indicado.
+     */
+    public static VerifiedToken rejected(TokenRejectReason reason) {
+        return REJECTIONS.get(reason);
+    }
+
+    /**
+     * @return {@code true} si el token fue verificado correctamente
+     */
+    public boolean isValid() {
+        return rejectReason == null;
+    }
+}
@@ -1,9 +1,22 @@
 package co.edu.unicauca.config;
 
+import co.edu.unicauca.utilities.BCryptCalibration;
+import co.edu.unicauca.utilities.Logger;
+import co.edu.unicauca.utilities.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuración de beans generales utilizados en la aplicación.
@@ -15,7 +28,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * <p>Actualmente, define un único bean:
  * <ul>
  *     <li>{@link PasswordEncoder}: utilizado para la codificación y verificación
- *         de contraseñas de los usuarios, implementado con {@link BCryptPasswordEncoder}.</li>
+ *         de contraseñas de los usuarios, implementado con un {@link DelegatingPasswordEncoder}
+ *         que usa {@link BCryptPasswordEncoder} por defecto.</li>
  * </ul>
  *
  * <p><strong>Importancia de BCrypt:</strong></p>
@@ -30,16 +44,56 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class BeansConfig {
 
     /**
-     * Bean de tipo {@link PasswordEncoder} basado en el algoritmo BCrypt.
+     * Identificadores {@code {id}} de los algoritmos que puede registrar {@link #passwordEncoder}
+     * ({@code argon2} solo si Bouncy Castle está en el classpath).
+     */
+    public static final Set<String> PASSWORD_ENCODER_IDS = Set.of("bcrypt", "pbkdf2", "argon2");
+
+    /**
+     * Bean de tipo {@link PasswordEncoder} que delega según el prefijo {@code {id}} del hash.
      *
      * <p>Este bean será utilizado por Spring Security y otros servicios
      * (como {@code AccountService}) para codificar contraseñas antes de
      * guardarlas en la base de datos, y también para verificarlas durante la autenticación.</p>
      *
-     * @return una instancia de {@link BCryptPasswordEncoder}.
+     * <p>Los hashes nuevos se generan con el algoritmo {@code passwordEncoder.default}
+     * ({@code bcrypt}, {@code pbkdf2} o {@code argon2} si Bouncy Castle está en el classpath).
+     * Los hashes sin prefijo, anteriores a esta configuración, se verifican como BCrypt.
+     * Si {@code passwordEncoder.bcrypt.strength} es 0, el costo de BCrypt se calibra al iniciar para
+     * que un hash tarde aproximadamente {@code passwordEncoder.targetMs} milisegundos en este equipo.
+     * Los hashes con otro algoritmo o con un costo menor se actualizan en el siguiente login exitoso
+     * (ver {@code AccountDetailsService#updatePassword}).</p>
+     *
+     * <p>Se envuelve en un {@link TimedPasswordEncoder} para medir la latencia de cada hash.</p>
+     *
+     * @param meterRegistry registro de métricas donde se publica la latencia.
+     * @param defaultId identificador del algoritmo usado para los hashes nuevos.
+     * @param bcryptStrength costo de BCrypt, o 0 para calibrarlo.
+     * @param targetMs latencia objetivo de un hash usada en la calibración.
+     * @return el codificador de contraseñas instrumentado.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${passwordEncoder.default:bcrypt}") String defaultId,
+                                           @Value("${passwordEncoder.bcrypt.strength:0}") int bcryptStrength,
+                                           @Value("${passwordEncoder.targetMs:250}") long targetMs) {
+        int strength = bcryptStrength > 0 ? bcryptStrength : BCryptCalibration.strengthFor(targetMs);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (ClassUtils.isPresent("org.bouncycastle.crypto.generators.Argon2BytesGenerator", null)) {
+            encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+        if (!encoders.containsKey(defaultId)) {
+            throw new IllegalStateException("Codificador de contraseñas no disponible: " + defaultId);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(defaultId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        Logger.info(BeansConfig.class, "Codificador de contraseñas: {} (bcrypt strength {})", defaultId, strength);
+        return new TimedPasswordEncoder(delegating, meterRegistry);
     }
 }
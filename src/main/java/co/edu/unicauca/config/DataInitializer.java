@@ -1,89 +1,37 @@
 package co.edu.unicauca.config;
 
-import co.edu.unicauca.entities.Account;
-import co.edu.unicauca.entities.User;
-import co.edu.unicauca.enums.Role;
-import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.services.UserSeedService;
+import co.edu.unicauca.utilities.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.Set;
 
+/**
+ * Carga los usuarios iniciales al arrancar la aplicación.
+ *
+ * <p>Los usuarios se leen de {@code seed.file} (CSV o JSON) y se insertan directamente en la base
+ * de datos con {@link UserSeedService}, sin pasar por el endpoint de registro. Con
+ * {@code seed.syntheticUsers} se agregan además estudiantes generados para entornos de prueba.
+ * Los usuarios que ya existen se omiten, por lo que reiniciar la aplicación no los duplica.</p>
+ */
 @Configuration
 public class DataInitializer {
 
-    private static final String AUTH_URL = "http://localhost:8083/auth/register";
-
     @Bean
-    CommandLineRunner initUsers() {
+    CommandLineRunner initUsers(UserSeedService seedService,
+                                @Value("${seed.enabled:true}") boolean enabled,
+                                @Value("${seed.file:classpath:seed/users.csv}") String file,
+                                @Value("${seed.syntheticUsers:0}") int syntheticUsers,
+                                @Value("${seed.syntheticPassword:123456}") String syntheticPassword) {
         return args -> {
-            RestTemplate restTemplate = new RestTemplate();
-
-            try {
-                // ==== DIRECTOR ====
-                User directorUser = new User();
-                directorUser.setNames("Carlos");
-                directorUser.setLastNames("González");
-
-                Account directorAccount = new Account();
-                directorAccount.setEmail("director@unicauca.edu.co");
-                directorAccount.setPassword("123456");
-                directorAccount.setRoles(Set.of(Role.DIRECTOR));
-
-                UserRegisterDTO directorDTO = new UserRegisterDTO();
-                directorDTO.setUser(directorUser);
-                directorDTO.setAccount(directorAccount);
-
-                restTemplate.postForEntity(AUTH_URL, directorDTO, String.class);
-                System.out.println("[INFO] Usuario DIRECTOR registrado exitosamente.");
-
-            } catch (Exception e) {
-                System.out.println("[WARN] El usuario DIRECTOR ya existe o el servicio no está disponible.");
+            if (!enabled) {
+                return;
             }
-
             try {
-                // ==== COORDINADOR ====
-                User coordinatorUser = new User();
-                coordinatorUser.setNames("Laura");
-                coordinatorUser.setLastNames("Martínez");
-
-                Account coordinatorAccount = new Account();
-                coordinatorAccount.setEmail("coordinador@unicauca.edu.co");
-                coordinatorAccount.setPassword("123456");
-                coordinatorAccount.setRoles(Set.of(Role.COORDINATOR));
-
-                UserRegisterDTO coordinatorDTO = new UserRegisterDTO();
-                coordinatorDTO.setUser(coordinatorUser);
-                coordinatorDTO.setAccount(coordinatorAccount);
-
-                restTemplate.postForEntity(AUTH_URL, coordinatorDTO, String.class);
-                System.out.println("[INFO] Usuario COORDINADOR registrado exitosamente.");
-
-            } catch (Exception e) {
-                System.out.println("[WARN] El usuario COORDINADOR ya existe o el servicio no está disponible.");
-            }
-            try {
-                // ==== STUDENT ====
-                User studentUser = new User();
-                studentUser.setNames("Laura");
-                studentUser.setLastNames("Martínez");
-
-                Account studentAccount = new Account();
-                studentAccount.setEmail("laura@unicauca.edu.co");
-                studentAccount.setPassword("123456");
-                studentAccount.setRoles(Set.of(Role.STUDENT));
-
-                UserRegisterDTO coordinatorDTO = new UserRegisterDTO();
-                coordinatorDTO.setUser(studentUser);
-                coordinatorDTO.setAccount(studentAccount);
-
-                restTemplate.postForEntity(AUTH_URL, coordinatorDTO, String.class);
-                System.out.println("[INFO] Usuario COORDINADOR registrado exitosamente.");
-
+                seedService.seed(file, syntheticUsers, syntheticPassword);
             } catch (Exception e) {
-                System.out.println("[WARN] El usuario COORDINADOR ya existe o el servicio no está disponible.");
+                Logger.error(DataInitializer.class, "No fue posible cargar los usuarios iniciales: {}", e.getMessage());
             }
         };
     }
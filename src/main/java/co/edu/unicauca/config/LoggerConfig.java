@@ -0,0 +1,28 @@
+package co.edu.unicauca.config;
+
+import co.edu.unicauca.utilities.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica la configuración de {@link Logger} a partir de las propiedades {@code logger.*}.
+ *
+ * <p>Se ejecuta al crear el contexto de Spring; hasta entonces el logger escribe de forma
+ * síncrona en consola con nivel {@code INFO}.</p>
+ */
+@Configuration
+public class LoggerConfig {
+
+    /**
+     * @param level nivel mínimo ({@code INFO}, {@code SUCCESS}, {@code WARN}, {@code ERROR} u {@code OFF})
+     * @param format {@code console} para texto con colores o {@code json} para una línea JSON por evento
+     * @param async {@code true} para escribir desde un hilo dedicado sin bloquear las peticiones
+     * @param bufferSize capacidad del buffer de eventos en modo asíncrono
+     */
+    public LoggerConfig(@Value("${logger.level:INFO}") Logger.Level level,
+                        @Value("${logger.format:console}") String format,
+                        @Value("${logger.async:true}") boolean async,
+                        @Value("${logger.bufferSize:8192}") int bufferSize) {
+        Logger.configure(level, "json".equalsIgnoreCase(format), async, bufferSize);
+    }
+}
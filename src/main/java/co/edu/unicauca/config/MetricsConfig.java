@@ -0,0 +1,44 @@
+package co.edu.unicauca.config;
+
+import co.edu.unicauca.utilities.RepositoryCallCounter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Configuración de métricas propias del servicio.
+ *
+ * <p>Las métricas se publican en {@code /actuator/prometheus}, en el puerto de administración
+ * ({@code management.server.port}). Además de las de Spring Boot
+ * ({@code http.server.requests}, {@code spring.data.repository.invocations}, JVM, Hikari) el
+ * servicio registra:</p>
+ * <ul>
+ *   <li>{@code auth.login} (outcome): duración completa del inicio de sesión.</li>
+ *   <li>{@code auth.password.hash} (operation): costo de cada hash o verificación de contraseña.</li>
+ *   <li>{@code auth.jwt.verify} y {@code auth.jwt.rejected} (reason): verificación de tokens en el filtro.</li>
+ *   <li>{@code auth.repository.calls} (uri): llamadas a repositorios por petición.</li>
+ *   <li>{@code cache.*} (cache): aciertos y fallos de las cachés de cuentas, introspección y revocación.</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Agrega a cada repositorio de Spring Data un listener que cuenta sus invocaciones en la
+     * petición en curso ({@link RepositoryCallCounter}).
+     */
+    @Bean
+    static BeanPostProcessor repositoryCallCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addInvocationListener(invocation -> RepositoryCallCounter.increment()));
+                }
+                return bean;
+            }
+        };
+    }
+}
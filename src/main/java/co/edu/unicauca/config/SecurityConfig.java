@@ -1,16 +1,28 @@
 package co.edu.unicauca.config;
 
+import co.edu.unicauca.authentication.AccountDetails;
 import co.edu.unicauca.services.AccountDetailsService;
 import co.edu.unicauca.utilities.JwtAuthFilter;
+import co.edu.unicauca.utilities.PublicRouteMatcher;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AccountExpiredException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -29,16 +41,23 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
     private final AccountDetailsService accountDetailsService;
+    private final PublicRouteMatcher publicRoutes;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter, AccountDetailsService accountDetailsService) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, AccountDetailsService accountDetailsService,
+                          PublicRouteMatcher publicRoutes) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.accountDetailsService = accountDetailsService;
+        this.publicRoutes = publicRoutes;
     }
 
     /**
      * Configura el AuthenticationManager para usar nuestro servicio de usuarios
      * y el codificador de contraseñas.
      *
+     * <p>Antes de la contraseña solo se revisa el bloqueo temporal por intentos fallidos, que se aplica
+     * igual exista o no la cuenta. Que la cuenta no exista, esté deshabilitada o expirada se revisa
+     * después, de modo que una contraseña incorrecta tarda y responde lo mismo en todos los casos.</p>
+     *
      * @param http objeto HttpSecurity
      * @param encoder codificador de contraseñas (BCrypt)
      * @return AuthenticationManager configurado
@@ -48,15 +67,70 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(accountDetailsService);
         authProvider.setPasswordEncoder(encoder);
+        // Actualiza en el login los hashes con algoritmo o costo desactualizado
+        authProvider.setUserDetailsPasswordService(accountDetailsService);
+        authProvider.setPreAuthenticationChecks(SecurityConfig::checkNotLocked);
+        authProvider.setPostAuthenticationChecks(SecurityConfig::checkAccountStatus);
         return new ProviderManager(authProvider);
     }
 
+    private static void checkNotLocked(UserDetails user) {
+        if (!user.isAccountNonLocked()) {
+            throw new LockedException("User account is locked");
+        }
+    }
+
+    private static void checkAccountStatus(UserDetails user) {
+        // Los detalles de un correo inexistente llevan un hash que nunca coincide; se rechazan por si acaso
+        if (user instanceof AccountDetails details && details.isUnknown()) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+        if (!user.isAccountNonExpired()) {
+            throw new AccountExpiredException("User account has expired");
+        }
+        if (!user.isCredentialsNonExpired()) {
+            throw new CredentialsExpiredException("User credentials have expired");
+        }
+    }
+
+    /**
+     * Cadena de seguridad del puerto de administración ({@code management.server.port}), donde se
+     * publican {@code /actuator/prometheus}, {@code /actuator/health} e {@code /actuator/info}.
+     *
+     * <p>Ese puerto no se expone fuera de la red interna, así que el scraper de Prometheus y las sondas
+     * de salud no necesitan token; el filtro JWT no se ejecuta en él. En el puerto de la API los
+     * endpoints de actuator no existen. Si el puerto de administración no está configurado o coincide
+     * con el de la API, esta cadena no aplica a ninguna petición y actuator exige autenticación.</p>
+     *
+     * @param http objeto HttpSecurity
+     * @param managementPort puerto de administración
+     * @param serverPort puerto de la API
+     * @return SecurityFilterChain del puerto de administración
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http,
+                                                             @Value("${management.server.port:-1}") int managementPort,
+                                                             @Value("${server.port:8080}") int serverPort) throws Exception {
+        boolean separatePort = managementPort > 0 && managementPort != serverPort;
+        http
+                .securityMatcher(request -> separatePort && request.getLocalPort() == managementPort)
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        return http.build();
+    }
+
     /**
      * Define la cadena de filtros de seguridad.
      *
      * - Desactiva CSRF (para APIs REST).
      * - Define sesiones sin estado (JWT).
-     * - Permite acceso libre a /auth/** y /h2-console/**.
+     * - Permite acceso libre a las rutas de security.publicRoutes ({@link PublicRouteMatcher}).
+     * - Permite los despachos asíncronos de peticiones ya autorizadas.
      * - Requiere autenticación para el resto de rutas.
      * - Agrega el filtro personalizado de JWT antes del filtro estándar de login.
      *
@@ -77,13 +151,10 @@ public class SecurityConfig {
 
                 // Reglas de autorización
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(
-                                "/h2-console/**",
-                                "/auth/login",
-                                "/auth/register",
-                                "/auth/validate-role/**",
-                                "/auth/account-id"
-                        ).permitAll()
+                        .requestMatchers(publicRoutes).permitAll()
+                        // El despacho asíncrono de una respuesta en flujo (/users/export) ya se autorizó
+                        // en la petición original; el filtro JWT no vuelve a ejecutarse en él
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         .anyRequest().authenticated()
                 );
@@ -92,4 +163,18 @@ public class SecurityConfig {
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
+
+    /**
+     * Evita que Spring Boot registre además {@link JwtAuthFilter} como filtro del contenedor de
+     * servlets: solo debe ejecutarse dentro de la cadena de seguridad.
+     *
+     * @param filter filtro JWT
+     * @return registro deshabilitado del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration(JwtAuthFilter filter) {
+        FilterRegistrationBean<JwtAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
@@ -0,0 +1,28 @@
+package co.edu.unicauca.config;
+
+import co.edu.unicauca.utilities.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Informa al iniciar con qué tipo de hilos se atienden las peticiones.
+ *
+ * <p>Spring Boot ejecuta Tomcat sobre hilos virtuales cuando {@code spring.threads.virtual.enabled=true}
+ * y la JVM es Java 21 o superior; en versiones anteriores la propiedad se ignora sin aviso,
+ * por lo que aquí se advierte explícitamente.</p>
+ */
+@Configuration
+public class ThreadingConfig {
+
+    public ThreadingConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreads && javaVersion < 21) {
+            Logger.warn(ThreadingConfig.class,
+                    "spring.threads.virtual.enabled se ignora en Java {}; se requiere Java 21+", javaVersion);
+        } else if (virtualThreads) {
+            Logger.info(ThreadingConfig.class, "Peticiones atendidas con hilos virtuales (Java {})", javaVersion);
+        } else {
+            Logger.info(ThreadingConfig.class, "Peticiones atendidas con el pool de hilos de plataforma de Tomcat");
+        }
+    }
+}
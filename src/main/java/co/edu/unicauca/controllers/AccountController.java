@@ -0,0 +1,45 @@
+package co.edu.unicauca.controllers;
+
+import co.edu.unicauca.services.AccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador para la administración de cuentas. Requiere un token JWT de una cuenta con rol
+ * {@code HEAD_OF_DEPARTMENT}.
+ */
+@RestController
+@RequestMapping("/accounts")
+public class AccountController {
+
+    @Autowired
+    private AccountService _accountService;
+
+    /**
+     * Deshabilita una cuenta: no podrá iniciar sesión y sus tokens vigentes quedan revocados.
+     *
+     * @param accountId ID de la cuenta
+     * @return 204 si la cuenta fue deshabilitada
+     */
+    @PostMapping("/{accountId}/disable")
+    @PreAuthorize("hasAuthority('HEAD_OF_DEPARTMENT')")
+    public ResponseEntity<Void> disable(@PathVariable Long accountId) {
+        _accountService.setAccountEnabled(accountId, false);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Vuelve a habilitar una cuenta deshabilitada.
+     *
+     * @param accountId ID de la cuenta
+     * @return 204 si la cuenta fue habilitada
+     */
+    @PostMapping("/{accountId}/enable")
+    @PreAuthorize("hasAuthority('HEAD_OF_DEPARTMENT')")
+    public ResponseEntity<Void> enable(@PathVariable Long accountId) {
+        _accountService.setAccountEnabled(accountId, true);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,18 +1,46 @@
 package co.edu.unicauca.controllers;
 
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.dtos.InactiveIntrospectionDTO;
+import co.edu.unicauca.dtos.IntrospectionResponseDTO;
 import co.edu.unicauca.dtos.JwtResponseDTO;
 import co.edu.unicauca.dtos.LoginRequestDTO;
+import co.edu.unicauca.dtos.RefreshRequestDTO;
+import co.edu.unicauca.dtos.RoleCheckDTO;
+import co.edu.unicauca.dtos.RoleValidationRequestDTO;
+import co.edu.unicauca.dtos.RoleValidationResponseDTO;
 import co.edu.unicauca.dtos.UserRegisterDTO;
 import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.AuthErrorCode;
 import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.exceptions.AuthException;
+import co.edu.unicauca.repositories.AccountIdView;
 import co.edu.unicauca.services.AccountService;
 import co.edu.unicauca.services.AuthService;
+import co.edu.unicauca.services.LoginThrottleService;
+import co.edu.unicauca.services.PasswordHashingExecutor;
+import co.edu.unicauca.services.TokenIntrospectionService;
 import co.edu.unicauca.services.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador encargado de manejar las operaciones relacionadas con la autenticación y registro de usuarios.
@@ -31,43 +59,182 @@ public class AuthController {
     private UserService _userService;
     @Autowired
     AccountService _accountService;
+    @Autowired
+    private ObjectMapper _objectMapper;
+
+    // Pool acotado donde se ejecutan login y registro para no ocupar hilos de Tomcat con BCrypt
+    @Autowired
+    private PasswordHashingExecutor _passwordHashingExecutor;
+
+    @Autowired
+    private TokenIntrospectionService _tokenIntrospectionService;
+
+    // Límite de intentos de login por IP y por correo, y de búsquedas de cuentas inexistentes por IP
+    @Autowired
+    private LoginThrottleService _loginThrottleService;
 
     /**
      * Endpoint para autenticar un usuario y generar un token JWT si las credenciales son válidas.
      *
+     * <p>La autenticación se ejecuta en el pool de hashing de contraseñas; el hilo de Tomcat se libera
+     * mientras tanto. Si el pool está saturado se responde 503 de inmediato.</p>
+     *
+     * <p>Antes de ocupar el pool se aplican los límites de intentos por IP y por correo; si se superan
+     * se responde 429 con la cabecera {@code Retry-After} sin verificar la contraseña.</p>
+     *
      * @param loginRequest objeto con las credenciales (email y password) del usuario.
+     * @param request petición HTTP, de la que se toma la IP del cliente.
      * @return ResponseEntity con el token JWT si la autenticación es exitosa o un mensaje de error en caso contrario.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequestDTO loginRequest) {
-        try {
-            // Autentica al usuario y genera un token JWT
-            JwtResponseDTO response = _authService.authenticateUser(loginRequest);
-            return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequestDTO loginRequest,
+                                                      HttpServletRequest request) {
+        _loginThrottleService.checkAllowed(request.getRemoteAddr(), loginRequest.getEmail());
+        return _passwordHashingExecutor.submit(() -> {
+            try {
+                // Autentica al usuario y genera un token JWT
+                JwtResponseDTO response = _authService.authenticateUser(loginRequest);
+                _loginThrottleService.recordSuccess(loginRequest.getEmail());
+                return ResponseEntity.ok(response);
 
-        } catch (BadCredentialsException e) {
-            // Si las credenciales no son válidas, devuelve error 401
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("Invalid email or password");
+            } catch (BadCredentialsException e) {
+                // Si las credenciales no son válidas, devuelve error 401
+                _loginThrottleService.recordFailure(loginRequest.getEmail());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body("Invalid email or password");
 
-        } catch (Exception e) {
-            // Si ocurre un error inesperado, devuelve error 500
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("An error occurred during authentication");
+            } catch (LockedException e) {
+                // La cuenta alcanzó el límite de fallos mientras la petición esperaba en el pool
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(
+                                Math.max(1, _loginThrottleService.secondsUntilUnlocked(loginRequest.getEmail()))))
+                        .body("Too many login attempts, try again later");
+
+            } catch (DisabledException e) {
+                // La cuenta fue deshabilitada por un administrador
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("Account is disabled");
+
+            } catch (Exception e) {
+                // Si ocurre un error inesperado, devuelve error 500
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body("An error occurred during authentication");
+            }
+        });
+    }
+
+    /**
+     * Endpoint para obtener un nuevo token JWT a partir de un token de refresco.
+     *
+     * <p>No verifica contraseñas, por lo que se ejecuta directamente en el hilo de la petición.
+     * El token de refresco presentado queda consumido; la respuesta incluye su reemplazo.
+     * Un token inválido, expirado o reutilizado responde 401.</p>
+     *
+     * @param request objeto con el token de refresco.
+     * @return ResponseEntity con el nuevo token JWT y el nuevo token de refresco.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponseDTO> refresh(@RequestBody RefreshRequestDTO request) {
+        return ResponseEntity.ok(_authService.refresh(request.getRefreshToken()));
+    }
+
+    /**
+     * Endpoint de introspección de tokens (RFC 7662) para servicios que no verifican los JWT por sí mismos.
+     *
+     * <p>Recibe el token como parámetro {@code token} (formulario {@code application/x-www-form-urlencoded}
+     * o query string). Los resultados se guardan en caché hasta la expiración del token, por lo que
+     * consultar varias veces el mismo token no repite la verificación de la firma.</p>
+     *
+     * <p>Como exige la RFC 7662 (sección 2.1), quien consulta debe autenticarse: la petición lleva en
+     * {@code Authorization: Bearer} un token propio del servicio que pregunta. Sin él responde 403,
+     * de modo que el endpoint no sirve para probar tokens robados o adivinados.</p>
+     *
+     * @param token token JWT a inspeccionar
+     * @return {@code active=true} con la cuenta, sus roles y las fechas del token, o solo {@code active=false}
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<?> introspect(@RequestParam(value = "token", required = false) String token) {
+        VerifiedToken verified = _tokenIntrospectionService.introspect(token);
+        if (!verified.isValid()) {
+            return ResponseEntity.ok(InactiveIntrospectionDTO.instance());
         }
+
+        List<String> roles = verified.roles().stream().map(Role::name).toList();
+        IntrospectionResponseDTO response = new IntrospectionResponseDTO(true);
+        response.setSub(String.valueOf(verified.accountId()));
+        response.setIdAccount(verified.accountId());
+        response.setUsername(verified.email());
+        response.setRoles(roles);
+        response.setScope(String.join(" ", roles));
+        response.setJti(verified.tokenId());
+        response.setIat(verified.issuedAt() != null ? verified.issuedAt().getEpochSecond() : null);
+        response.setExp(verified.expiresAt().getEpochSecond());
+        response.setTokenType("Bearer");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint para cerrar sesión. Revoca el token JWT enviado en la cabecera {@code Authorization}
+     * y, si se envía, la familia del token de refresco.
+     *
+     * @param authorization cabecera {@code Authorization: Bearer <token>} (opcional)
+     * @param request objeto con el token de refresco (opcional)
+     * @return 204 en todos los casos
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshRequestDTO request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        _authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Endpoint para registrar un usuario. Igual que el login, se ejecuta en el pool de hashing
+     * de contraseñas y responde 503 si está saturado.
+     *
+     * @param request datos del usuario, su cuenta y sus roles.
+     * @return ResponseEntity con el usuario registrado o un mensaje de error.
+     */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody UserRegisterDTO request) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody UserRegisterDTO request) {
+        return _passwordHashingExecutor.submit(() -> {
+            try {
+                User saved = _userService.userRegister(request);
+                return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body("An error occurred while registering the user");
+            }
+        });
+    }
+
+    /**
+     * Endpoint para registrar muchos usuarios en una sola llamada (por ejemplo, los estudiantes de un semestre).
+     *
+     * <p>Los correos se validan con una sola consulta, las contraseñas se codifican en paralelo en el
+     * pool de hashing y las inserciones se agrupan en lotes. La respuesta incluye el resultado de cada
+     * usuario ({@code CREATED}, {@code DUPLICATE}, {@code INVALID} o {@code FAILED}) en el orden de la
+     * solicitud.</p>
+     *
+     * <p>Solo la jefatura de departamento puede registrar usuarios de forma masiva.</p>
+     *
+     * @param requests usuarios a registrar, con el mismo formato que {@code /auth/register}
+     * @return ResponseEntity con el resultado por usuario, o 400 si se supera {@code auth.batchMaxSize}
+     */
+    @PreAuthorize("hasAuthority('HEAD_OF_DEPARTMENT')")
+    @PostMapping("/register/bulk")
+    public ResponseEntity<?> registerBulk(@RequestBody List<UserRegisterDTO> requests) {
         try {
-            User saved = _userService.userRegister(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+            return ResponseEntity.ok(_userService.bulkRegister(requests));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("An error occurred while registering the user");
         }
     }
 
@@ -96,20 +263,105 @@ public class AuthController {
             return ResponseEntity.ok(false);
         }
     }
+    /**
+     * Endpoint para validar roles de muchas cuentas en una sola llamada.
+     * Reemplaza N llamadas a {@code /auth/validate-role/{accountId}/{expectedRole}} por una
+     * sola consulta a la base de datos.
+     *
+     * <p>Acepta una lista de IDs con un único rol ({@code accountIds} + {@code role}) o una lista
+     * de pares {@code checks}. Un rol desconocido o una cuenta inexistente se reportan como
+     * {@code false}, igual que en la validación individual.</p>
+     *
+     * <p>Si la IP agotó su presupuesto de búsquedas de cuentas inexistentes se responde 429. Los IDs
+     * que no corresponden a ninguna cuenta se descuentan de ese presupuesto después de responder; una
+     * cuenta existente sin el rol no cuenta, porque es la respuesta normal al revisar un listado.</p>
+     *
+     * @param request cuentas y roles a validar
+     * @param strict si es {@code true}, responde 403 ({@link AuthErrorCode#USER_WITHOUT_ROLE_EXPECTED})
+     *               cuando alguna cuenta no tiene el rol esperado
+     * @param httpRequest petición HTTP, de la que se toma la IP del cliente
+     * @return ResponseEntity con los resultados en el orden de la solicitud
+     */
+    @PostMapping("/validate-roles")
+    public ResponseEntity<?> validateUserRoles(
+            @RequestBody RoleValidationRequestDTO request,
+            @RequestParam(defaultValue = "false") boolean strict,
+            HttpServletRequest httpRequest) {
+        _loginThrottleService.checkLookupAllowed(httpRequest.getRemoteAddr());
+        List<Long> accountIds = new ArrayList<>();
+        List<Role> roles = new ArrayList<>();
+
+        if (request.getChecks() != null) {
+            for (RoleCheckDTO check : request.getChecks()) {
+                accountIds.add(check.getAccountId());
+                roles.add(parseRole(check.getRole()));
+            }
+        } else if (request.getAccountIds() != null) {
+            Role role = parseRole(request.getRole());
+            for (Long accountId : request.getAccountIds()) {
+                accountIds.add(accountId);
+                roles.add(role);
+            }
+        }
+
+        AccountService.RoleValidation validation;
+        try {
+            validation = _accountService.validateAccountRoles(accountIds, roles);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        _loginThrottleService.recordLookupMisses(httpRequest.getRemoteAddr(), validation.missingAccounts());
+
+        List<Boolean> results = validation.results();
+        boolean allValid = !results.contains(Boolean.FALSE);
+        if (strict && !allValid) {
+            List<Long> invalidIds = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                if (!results.get(i)) {
+                    invalidIds.add(accountIds.get(i));
+                }
+            }
+            throw new AuthException(AuthErrorCode.USER_WITHOUT_ROLE_EXPECTED,
+                    AuthErrorCode.USER_WITHOUT_ROLE_EXPECTED.getDefaultMessage() + ": " + invalidIds);
+        }
+
+        return ResponseEntity.ok(new RoleValidationResponseDTO(results, allValid));
+    }
+
+    /**
+     * Convierte el nombre de un rol a {@link Role}, devolviendo {@code null} si no es válido.
+     */
+    private static Role parseRole(String role) {
+        if (role == null) {
+            return null;
+        }
+        try {
+            return Role.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Endpoint para obtener el ID de una cuenta a partir de su email.
      * Diseñado para ser consumido por otros microservicios mediante Feign Client.
      *
+     * <p>Un email inexistente responde 404 y consume el presupuesto de búsquedas fallidas de la IP;
+     * agotado, se responde 429 para que el endpoint no sirva para enumerar cuentas.</p>
+     *
      * @param userEmail Email del usuario cuya cuenta se desea buscar
+     * @param request petición HTTP, de la que se toma la IP del cliente
      * @return ResponseEntity con el ID de la cuenta (Long) si existe
      */
     @GetMapping("/account-id")
-    public ResponseEntity<?> getAccountIdByEmail(@RequestParam String userEmail) {
+    public ResponseEntity<?> getAccountIdByEmail(@RequestParam String userEmail, HttpServletRequest request) {
+        _loginThrottleService.checkLookupAllowed(request.getRemoteAddr());
         try {
             Long accountId = _accountService.getAccountIdByEmail(userEmail);
             return ResponseEntity.ok(accountId);
 
         } catch (IllegalArgumentException e) {
+            _loginThrottleService.chargeLookups(request.getRemoteAddr(), 1);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(e.getMessage());
 
@@ -118,4 +370,45 @@ public class AuthController {
                     .body("An error occurred while retrieving the account ID");
         }
     }
+
+    /**
+     * Endpoint para obtener los IDs de muchas cuentas a partir de sus emails en una sola llamada.
+     * Diseñado para procesos de importación que antes llamaban a {@code /auth/account-id} por cada email.
+     *
+     * <p>La respuesta es un objeto JSON {@code {"email": id, ...}}, con los emails normalizados (sin
+     * espacios y en minúsculas), que se escribe directamente
+     * sobre la salida, sin construir el documento completo en memoria. Los emails que no
+     * existen se omiten y consumen el presupuesto de búsquedas fallidas de la IP, igual que en
+     * {@code /auth/account-id}; si son más de los que quedan en el presupuesto, se responde 429 sin
+     * ningún resultado.</p>
+     *
+     * @param emails lista de emails a buscar
+     * @param request petición HTTP, de la que se toma la IP del cliente
+     * @return ResponseEntity con el mapa email → ID de cuenta
+     */
+    @PostMapping("/account-ids")
+    public ResponseEntity<StreamingResponseBody> getAccountIdsByEmails(@RequestBody List<String> emails,
+                                                                       HttpServletRequest request) {
+        _loginThrottleService.checkLookupAllowed(request.getRemoteAddr());
+        List<AccountIdView> accounts;
+        try {
+            accounts = _accountService.getAccountIdsByEmails(emails);
+        } catch (IllegalArgumentException e) {
+            byte[] message = e.getMessage().getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
+        }
+        long requested = emails.stream().filter(Objects::nonNull).map(AccountService::normalizeEmail).distinct().count();
+        _loginThrottleService.chargeLookups(request.getRemoteAddr(), (int) (requested - accounts.size()));
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = _objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                for (AccountIdView account : accounts) {
+                    generator.writeNumberField(account.getEmail(), account.getId());
+                }
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -0,0 +1,53 @@
+package co.edu.unicauca.controllers;
+
+import co.edu.unicauca.utilities.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica las claves públicas de firma de los tokens JWT (JWKS, RFC 7517).
+ *
+ * <p>Los demás microservicios descargan este documento y verifican los tokens localmente,
+ * sin llamar a este servicio en cada petición. La respuesta se puede guardar en caché por
+ * {@code Cache-Control} y revalidar con {@code If-None-Match}; el documento solo cambia al rotar
+ * las claves, y la clave anterior sigue publicada mientras haya tokens vigentes firmados con ella.</p>
+ */
+@RestController
+public class JwksController {
+
+    // Tiempo que los consumidores pueden reutilizar el documento sin revalidarlo
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+
+    @Autowired
+    private JwtKeyRing _keyRing;
+
+    /**
+     * Devuelve el documento JWKS con las claves públicas vigentes.
+     *
+     * @param ifNoneMatch ETag de la copia que ya tiene el cliente (opcional)
+     * @return 200 con el documento, o 304 si el cliente ya tiene la versión actual
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = "application/jwk-set+json")
+    public ResponseEntity<String> jwks(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        JwtKeyRing.Jwks jwks = _keyRing.jwks();
+        if (jwks.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jwks.etag())
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.parseMediaType("application/jwk-set+json"))
+                .body(jwks.json());
+    }
+}
@@ -0,0 +1,187 @@
+package co.edu.unicauca.controllers;
+
+import co.edu.unicauca.dtos.UserPageDTO;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.repositories.UserSummaryView;
+import co.edu.unicauca.services.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+/**
+ * Controlador para consultar los usuarios registrados. Requiere un token JWT de una cuenta con rol
+ * {@code COORDINATOR} o {@code HEAD_OF_DEPARTMENT}.
+ */
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    @Autowired
+    private UserService _userService;
+
+    @Autowired
+    private ObjectMapper _objectMapper;
+
+    // Tiempo máximo de /users/export; el resto de respuestas asíncronas conserva el del contenedor
+    @Value("${users.exportTimeoutMs:600000}")
+    private long exportTimeoutMs;
+
+    /**
+     * Lista los usuarios por páginas ordenadas por ID. Para pedir la página siguiente se envía en
+     * {@code after} el {@code nextCursor} de la respuesta anterior.
+     *
+     * @param role rol por el que filtrar (opcional)
+     * @param after ID del último usuario ya recibido (opcional)
+     * @param size cantidad de usuarios por página
+     * @return página de usuarios, o 400 si el rol o el tamaño no son válidos
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('COORDINATOR', 'HEAD_OF_DEPARTMENT')")
+    public ResponseEntity<?> listUsers(@RequestParam(required = false) String role,
+                                       @RequestParam(required = false) Long after,
+                                       @RequestParam(defaultValue = "100") int size) {
+        try {
+            UserPageDTO page = _userService.listUsers(parseRole(role), after, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Exporta todos los usuarios (o los del rol indicado) en NDJSON, un objeto por línea, o en CSV.
+     * Los registros se escriben sobre la salida a medida que se leen de la base de datos, con un tiempo
+     * máximo propio ({@code users.exportTimeoutMs}) que solo se aplica a esta respuesta.
+     *
+     * @param role rol por el que filtrar (opcional)
+     * @param format {@code ndjson} (por defecto) o {@code csv}
+     * @return flujo con los usuarios, o 400 si el rol o el formato no son válidos
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('COORDINATOR', 'HEAD_OF_DEPARTMENT')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String role,
+                                                             @RequestParam(defaultValue = "ndjson") String format,
+                                                             WebRequest request) {
+        Role filter;
+        try {
+            filter = parseRole(role);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return badRequest("Unsupported format: " + format);
+        }
+
+        StreamingResponseBody body = csv
+                ? out -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    writer.write("id,names,lastNames,email,roles\n");
+                    _userService.exportUsers(filter, user -> writeCsv(writer, user));
+                    writer.flush();
+                }
+                : out -> {
+                    try (JsonGenerator generator = _objectMapper.getFactory().createGenerator(out)) {
+                        _userService.exportUsers(filter, user -> writeJson(generator, user));
+                    }
+                };
+
+        // El adaptador ya asignó el tiempo por defecto; el flujo empieza al retornar y toma este
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeoutMs);
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+
+    private static void writeJson(JsonGenerator generator, UserSummaryView user) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("names", user.getNames());
+            generator.writeStringField("lastNames", user.getLastNames());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeArrayFieldStart("roles");
+            for (Role r : user.getRoles()) {
+                generator.writeString(r.name());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(Writer writer, UserSummaryView user) {
+        try {
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writer.write(csvField(user.getNames()));
+            writer.write(',');
+            writer.write(csvField(user.getLastNames()));
+            writer.write(',');
+            writer.write(csvField(user.getEmail()));
+            writer.write(',');
+            writer.write(user.getRoles().stream().map(Role::name).collect(Collectors.joining("|")));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escapa un campo CSV según RFC 4180: se encierra entre comillas si contiene comas, comillas o saltos de línea.
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Convierte el nombre de un rol a {@link Role}; {@code null} o vacío significa sin filtro.
+     *
+     * @throws IllegalArgumentException si el rol no existe
+     */
+    private static Role parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        try {
+            return Role.valueOf(role.strip().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown role: " + role);
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(bytes));
+    }
+}
@@ -0,0 +1,27 @@
+package co.edu.unicauca.dtos;
+
+import java.util.List;
+
+/**
+ * Resultado de un registro masivo de usuarios, con un elemento por usuario en el orden de la solicitud.
+ */
+public class BulkRegisterResponseDTO {
+    private List<BulkRegisterResultDTO> results;
+    private int created;
+    private int failed;
+
+    public BulkRegisterResponseDTO(List<BulkRegisterResultDTO> results, int created, int failed) {
+        this.results = results;
+        this.created = created;
+        this.failed = failed;
+    }
+
+    public List<BulkRegisterResultDTO> getResults() { return results; }
+    public void setResults(List<BulkRegisterResultDTO> results) { this.results = results; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+}
@@ -0,0 +1,45 @@
+package co.edu.unicauca.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado del registro de un usuario dentro de un registro masivo.
+ * {@code index} es la posición del usuario en la solicitud.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRegisterResultDTO {
+
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    private int index;
+    private String email;
+    private Status status;
+    private Long idUser;
+    private Long idAccount;
+    private String error;
+
+    public BulkRegisterResultDTO(int index, String email, Status status, String error) {
+        this.index = index;
+        this.email = email;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getIdUser() { return idUser; }
+    public void setIdUser(Long idUser) { this.idUser = idUser; }
+
+    public Long getIdAccount() { return idAccount; }
+    public void setIdAccount(Long idAccount) { this.idAccount = idAccount; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
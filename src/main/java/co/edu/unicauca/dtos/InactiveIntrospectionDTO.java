@@ -0,0 +1,14 @@
+package co.edu.unicauca.dtos;
+
+/**
+ * Respuesta de introspección (RFC 7662) para tokens inválidos: solo {@code "active": false}.
+ * Es inmutable, por lo que todas las respuestas comparten la misma instancia.
+ */
+public record InactiveIntrospectionDTO(boolean active) {
+
+    private static final InactiveIntrospectionDTO INSTANCE = new InactiveIntrospectionDTO(false);
+
+    public static InactiveIntrospectionDTO instance() {
+        return INSTANCE;
+    }
+}
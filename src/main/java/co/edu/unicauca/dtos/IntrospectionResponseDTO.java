@@ -0,0 +1,59 @@
+package co.edu.unicauca.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Respuesta de introspección de un token activo (RFC 7662). Los tokens inválidos se responden con
+ * {@link InactiveIntrospectionDTO}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponseDTO {
+    private boolean active;
+    private String sub;
+    private Long idAccount;
+    private String username;
+    private String scope;
+    private List<String> roles;
+    private String jti;
+    private Long iat;
+    private Long exp;
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    public IntrospectionResponseDTO(boolean active) {
+        this.active = active;
+    }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public String getSub() { return sub; }
+    public void setSub(String sub) { this.sub = sub; }
+
+    public Long getIdAccount() { return idAccount; }
+    public void setIdAccount(Long idAccount) { this.idAccount = idAccount; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public List<String> getRoles() { return roles; }
+    public void setRoles(List<String> roles) { this.roles = roles; }
+
+    public String getJti() { return jti; }
+    public void setJti(String jti) { this.jti = jti; }
+
+    public Long getIat() { return iat; }
+    public void setIat(Long iat) { this.iat = iat; }
+
+    public Long getExp() { return exp; }
+    public void setExp(Long exp) { this.exp = exp; }
+
+    public String getTokenType() { return tokenType; }
+    public void setTokenType(String tokenType) { this.tokenType = tokenType; }
+}
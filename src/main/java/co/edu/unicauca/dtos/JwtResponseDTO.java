@@ -7,6 +7,7 @@ public class JwtResponseDTO {
     private String type = "Bearer";
     private Long idAccount;
     private List<String> roles;
+    private String refreshToken;
 
     // Constructor without refresh
     public JwtResponseDTO(String token, Long idAccount, List<String> roles) {
@@ -15,6 +16,12 @@ public class JwtResponseDTO {
         this.roles = roles;
     }
 
+    // Constructor with refresh
+    public JwtResponseDTO(String token, String refreshToken, Long idAccount, List<String> roles) {
+        this(token, idAccount, roles);
+        this.refreshToken = refreshToken;
+    }
+
     // Getters y setters
 
     public String getToken() { return token; }
@@ -28,4 +35,7 @@ public class JwtResponseDTO {
 
     public List<String> getRoles() { return roles; }
     public void setRoles(List<String> roles) { this.roles = roles; }
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package co.edu.unicauca.dtos;
+
+public class RefreshRequestDTO {
+    private String refreshToken;
+
+    public String getRefreshToken() {return refreshToken;}
+    public void setRefreshToken(String refreshToken) {this.refreshToken = refreshToken;}
+}
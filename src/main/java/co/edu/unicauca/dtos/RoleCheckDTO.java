@@ -0,0 +1,23 @@
+package co.edu.unicauca.dtos;
+
+/**
+ * Par (cuenta, rol) a validar dentro de una solicitud de validación por lotes.
+ */
+public class RoleCheckDTO {
+    private Long accountId;
+    private String role;
+
+    public RoleCheckDTO() {
+    }
+
+    public RoleCheckDTO(Long accountId, String role) {
+        this.accountId = accountId;
+        this.role = role;
+    }
+
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+}
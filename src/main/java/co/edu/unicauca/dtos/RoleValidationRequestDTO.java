@@ -0,0 +1,24 @@
+package co.edu.unicauca.dtos;
+
+import java.util.List;
+
+/**
+ * Solicitud de validación de roles por lotes.
+ *
+ * <p>Admite dos formas: una lista de IDs ({@code accountIds}) con un único rol ({@code role}),
+ * o una lista de pares {@code checks} con un rol por cuenta.</p>
+ */
+public class RoleValidationRequestDTO {
+    private String role;
+    private List<Long> accountIds;
+    private List<RoleCheckDTO> checks;
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public List<Long> getAccountIds() { return accountIds; }
+    public void setAccountIds(List<Long> accountIds) { this.accountIds = accountIds; }
+
+    public List<RoleCheckDTO> getChecks() { return checks; }
+    public void setChecks(List<RoleCheckDTO> checks) { this.checks = checks; }
+}
@@ -0,0 +1,23 @@
+package co.edu.unicauca.dtos;
+
+import java.util.List;
+
+/**
+ * Resultado de una validación de roles por lotes.
+ * {@code results} conserva el orden de los elementos de la solicitud.
+ */
+public class RoleValidationResponseDTO {
+    private List<Boolean> results;
+    private boolean allValid;
+
+    public RoleValidationResponseDTO(List<Boolean> results, boolean allValid) {
+        this.results = results;
+        this.allValid = allValid;
+    }
+
+    public List<Boolean> getResults() { return results; }
+    public void setResults(List<Boolean> results) { this.results = results; }
+
+    public boolean isAllValid() { return allValid; }
+    public void setAllValid(boolean allValid) { this.allValid = allValid; }
+}
@@ -0,0 +1,23 @@
+package co.edu.unicauca.dtos;
+
+import java.util.List;
+
+/**
+ * Página de un listado de usuarios. {@code nextCursor} es el valor a enviar en {@code after} para
+ * obtener la página siguiente; es {@code null} cuando no hay más resultados.
+ */
+public class UserPageDTO {
+    private List<UserSummaryDTO> items;
+    private Long nextCursor;
+
+    public UserPageDTO(List<UserSummaryDTO> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserSummaryDTO> getItems() { return items; }
+    public void setItems(List<UserSummaryDTO> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,44 @@
+package co.edu.unicauca.dtos;
+
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.repositories.UserSummaryView;
+
+import java.util.Set;
+
+/**
+ * Datos básicos de un usuario en un listado: ID, nombres, correo y roles.
+ */
+public class UserSummaryDTO {
+    private Long id;
+    private String names;
+    private String lastNames;
+    private String email;
+    private Set<Role> roles;
+
+    public UserSummaryDTO(Long id, String names, String lastNames, String email, Set<Role> roles) {
+        this.id = id;
+        this.names = names;
+        this.lastNames = lastNames;
+        this.email = email;
+        this.roles = roles;
+    }
+
+    public static UserSummaryDTO from(UserSummaryView view) {
+        return new UserSummaryDTO(view.getId(), view.getNames(), view.getLastNames(), view.getEmail(), view.getRoles());
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getNames() { return names; }
+    public void setNames(String names) { this.names = names; }
+
+    public String getLastNames() { return lastNames; }
+    public void setLastNames(String lastNames) { this.lastNames = lastNames; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public Set<Role> getRoles() { return roles; }
+    public void setRoles(Set<Role> roles) { this.roles = roles; }
+}
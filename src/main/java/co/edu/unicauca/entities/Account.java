@@ -4,14 +4,16 @@ import co.edu.unicauca.enums.Role;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "accounts")
 public class Account {
+    // Secuencia con asignación por bloques: permite agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     @Column(name = "id_account")
     private Long idAccount;
 
@@ -21,11 +23,14 @@ public class Account {
     @Column(nullable = false, name = "password")
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "account_roles", joinColumns = @JoinColumn(name = "account_id"))
-    @Enumerated(EnumType.STRING)
-    @Column(name = "role")
-    private Set<Role> roles = new HashSet<>();
+    // Roles guardados como máscara de bits (ver Role#bit)
+    @Convert(converter = RoleSetConverter.class)
+    @Column(name = "roles_mask", nullable = false)
+    private Set<Role> roles = EnumSet.noneOf(Role.class);
+
+    // Una cuenta deshabilitada no puede iniciar sesión y sus tokens quedan revocados
+    @Column(nullable = false, name = "enabled")
+    private boolean enabled = true;
 
     @OneToOne(mappedBy = "account")
     @JsonIgnore
@@ -42,13 +47,24 @@ public class Account {
     public void setPassword(String password) {this.password = password;}
 
     public Set<Role> getRoles() { return roles; }
-    public void setRoles(Set<Role> roles) { this.roles = roles; }
+    public void setRoles(Set<Role> roles) { this.roles = copyOf(roles); }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
 
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
 
-    // Helper methods
-    public void addRole(Role role) {this.roles.add(role);}
-    public void removeRole(Role role) {this.roles.remove(role);}
+    // Helper methods (reemplazan el conjunto para que Hibernate detecte el cambio de la máscara)
+    public void addRole(Role role) {Set<Role> copy = copyOf(this.roles); copy.add(role); this.roles = copy;}
+    public void removeRole(Role role) {Set<Role> copy = copyOf(this.roles); copy.remove(role); this.roles = copy;}
     public boolean hasRole(Role role) {return this.roles.contains(role);}
+
+    private static Set<Role> copyOf(Set<Role> roles) {
+        Set<Role> copy = EnumSet.noneOf(Role.class);
+        if (roles != null) {
+            copy.addAll(roles);
+        }
+        return copy;
+    }
 }
\ No newline at end of file
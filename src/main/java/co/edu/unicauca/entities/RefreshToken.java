@@ -0,0 +1,63 @@
+package co.edu.unicauca.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Token de refresco opaco. Solo se guarda el hash SHA-256 del valor entregado al cliente.
+ *
+ * <p>Cada login inicia una familia ({@code familyId}); cada uso del token lo marca como usado
+ * y emite uno nuevo en la misma familia. Si un token ya usado se presenta de nuevo, la familia
+ * completa se revoca.</p>
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_account", columnList = "account_id")
+})
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    // Getters & setters
+    public Long getId() {return id;}
+    public void setId(Long id) {this.id = id;}
+
+    public String getTokenHash() {return tokenHash;}
+    public void setTokenHash(String tokenHash) {this.tokenHash = tokenHash;}
+
+    public Long getAccountId() {return accountId;}
+    public void setAccountId(Long accountId) {this.accountId = accountId;}
+
+    public String getFamilyId() {return familyId;}
+    public void setFamilyId(String familyId) {this.familyId = familyId;}
+
+    public Instant getExpiresAt() {return expiresAt;}
+    public void setExpiresAt(Instant expiresAt) {this.expiresAt = expiresAt;}
+
+    public boolean isUsed() {return used;}
+    public void setUsed(boolean used) {this.used = used;}
+
+    public boolean isRevoked() {return revoked;}
+    public void setRevoked(boolean revoked) {this.revoked = revoked;}
+}
@@ -0,0 +1,46 @@
+package co.edu.unicauca.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entrada de la lista de revocación de tokens JWT.
+ *
+ * <p>La clave es el {@code jti} de un token revocado (logout) o {@code acct:<id>} para revocar todos
+ * los tokens de una cuenta emitidos hasta {@code revokedAt} (cuenta deshabilitada). La entrada puede
+ * eliminarse a partir de {@code expiresAt}, cuando los tokens afectados ya expiraron por sí mismos.</p>
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+    @Id
+    @Column(name = "revocation_key", length = 64)
+    private String key;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String key, Instant revokedAt, Instant expiresAt) {
+        this.key = key;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters & setters
+    public String getKey() {return key;}
+    public void setKey(String key) {this.key = key;}
+
+    public Instant getRevokedAt() {return revokedAt;}
+    public void setRevokedAt(Instant revokedAt) {this.revokedAt = revokedAt;}
+
+    public Instant getExpiresAt() {return expiresAt;}
+    public void setExpiresAt(Instant expiresAt) {this.expiresAt = expiresAt;}
+}
@@ -0,0 +1,25 @@
+package co.edu.unicauca.entities;
+
+import co.edu.unicauca.enums.Role;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+
+/**
+ * Convierte el conjunto de roles de una cuenta en una máscara de bits almacenada en una
+ * sola columna entera, evitando la tabla {@code account_roles} y su join.
+ */
+@Converter
+public class RoleSetConverter implements AttributeConverter<Set<Role>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Role> roles) {
+        return roles == null ? 0 : Role.toMask(roles);
+    }
+
+    @Override
+    public Set<Role> convertToEntityAttribute(Integer mask) {
+        return Role.fromMask(mask == null ? 0 : mask);
+    }
+}
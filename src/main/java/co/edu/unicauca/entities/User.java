@@ -5,8 +5,10 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "users")
 public class User {
+    // Secuencia con asignación por bloques: permite agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "id_user")
     private Long idUser;
 
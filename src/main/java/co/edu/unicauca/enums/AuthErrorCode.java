@@ -2,7 +2,11 @@ package co.edu.unicauca.enums;
 
 public enum AuthErrorCode {
     USER_NOT_FOUND("A-400", "Degree work not found"),
-    USER_WITHOUT_ROLE_EXPECTED("A-401", "One or more student IDs are not valid STUDENT accounts");
+    USER_WITHOUT_ROLE_EXPECTED("A-401", "One or more student IDs are not valid STUDENT accounts"),
+    INVALID_REFRESH_TOKEN("A-402", "Refresh token is invalid, expired or already used"),
+    PASSWORD_HASHING_BUSY("A-503", "Too many concurrent login or registration requests, try again later"),
+    TOO_MANY_LOGIN_ATTEMPTS("A-429", "Too many login attempts, try again later"),
+    TOO_MANY_ACCOUNT_LOOKUPS("A-403", "Too many lookups of nonexistent accounts, try again later");
 
     private final String code;
     private final String defaultMessage;
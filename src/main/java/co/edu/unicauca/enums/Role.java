@@ -1,9 +1,100 @@
 package co.edu.unicauca.enums;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Roles de una cuenta.
+ *
+ * <p>Cada rol tiene un bit fijo que se usa para almacenar el conjunto de roles como un entero
+ * (columna {@code roles_mask} y claim {@code rl} del JWT). El bit se declara explícitamente para
+ * que reordenar las constantes no cambie los valores ya guardados; los roles nuevos deben usar
+ * el siguiente bit libre.</p>
+ */
 public enum Role {
-    STUDENT,
-    DIRECTOR,
-    COORDINATOR,
-    JURY,
-    HEAD_OF_DEPARTMENT;
+    STUDENT(0),
+    DIRECTOR(1),
+    COORDINATOR(2),
+    JURY(3),
+    HEAD_OF_DEPARTMENT(4);
+
+    private static final Role[] VALUES = values();
+
+    // Listas de authorities precalculadas para cada combinación posible de roles
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK;
+
+    static {
+        int combinations = 1 << VALUES.length;
+        List<List<GrantedAuthority>> byMask = new ArrayList<>(combinations);
+        for (int mask = 0; mask < combinations; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (Role role : VALUES) {
+                if ((mask & role.bit) != 0) {
+                    authorities.add(role.authority);
+                }
+            }
+            byMask.add(Collections.unmodifiableList(authorities));
+        }
+        AUTHORITIES_BY_MASK = byMask;
+    }
+
+    private final int bit;
+    private final GrantedAuthority authority;
+
+    Role(int position) {
+        this.bit = 1 << position;
+        this.authority = new SimpleGrantedAuthority(name());
+    }
+
+    /**
+     * @return bit que representa este rol dentro de una máscara
+     */
+    public int bit() {
+        return bit;
+    }
+
+    /**
+     * @return instancia compartida de la authority de Spring Security para este rol
+     */
+    public GrantedAuthority authority() {
+        return authority;
+    }
+
+    /**
+     * Codifica un conjunto de roles como máscara de bits.
+     */
+    public static int toMask(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Decodifica una máscara de bits; los bits desconocidos se ignoran.
+     */
+    public static Set<Role> fromMask(int mask) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : VALUES) {
+            if ((mask & role.bit) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Devuelve la lista inmutable y compartida de authorities correspondiente a la máscara.
+     */
+    public static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES_BY_MASK.get(mask & (AUTHORITIES_BY_MASK.size() - 1));
+    }
 }
@@ -0,0 +1,16 @@
+package co.edu.unicauca.enums;
+
+/**
+ * Motivos por los que un token JWT puede ser rechazado durante su verificación.
+ */
+public enum TokenRejectReason {
+    MISSING,
+    MALFORMED,
+    BAD_SIGNATURE,
+    EXPIRED,
+    UNSUPPORTED,
+    MISSING_CLAIMS,
+    REVOKED,
+    // Token válido de una cuenta eliminada o deshabilitada
+    ACCOUNT_UNAVAILABLE;
+}
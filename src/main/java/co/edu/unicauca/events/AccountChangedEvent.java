@@ -0,0 +1,12 @@
+package co.edu.unicauca.events;
+
+/**
+ * Evento publicado cuando se crea una cuenta o cambian sus datos de autenticación
+ * (contraseña, roles o estado). Los componentes que mantienen copias en memoria de
+ * la cuenta lo usan para invalidarlas.
+ *
+ * @param accountId ID de la cuenta modificada
+ * @param email correo de la cuenta modificada
+ */
+public record AccountChangedEvent(Long accountId, String email) {
+}
@@ -5,18 +5,28 @@ import co.edu.unicauca.enums.AuthErrorCode;
 
 public class AuthException extends RuntimeException {
     private final AuthErrorCode errorCode;
+    // Segundos sugeridos al cliente en la cabecera Retry-After; 0 si no aplica
+    private final long retryAfterSeconds;
 
     public AuthException(AuthErrorCode errorCode) {
-        super(errorCode.getDefaultMessage());
-        this.errorCode = errorCode;
+        this(errorCode, errorCode.getDefaultMessage());
     }
 
     public AuthException(AuthErrorCode errorCode, String customMessage) {
+        this(errorCode, customMessage, 0);
+    }
+
+    public AuthException(AuthErrorCode errorCode, String customMessage, long retryAfterSeconds) {
         super(customMessage);
         this.errorCode = errorCode;
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 
     public AuthErrorCode getErrorCode() {
         return errorCode;
     }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
 }
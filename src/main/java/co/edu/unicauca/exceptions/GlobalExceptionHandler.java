@@ -1,6 +1,7 @@
 package co.edu.unicauca.exceptions;
 
 import co.edu.unicauca.dtos.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,8 +24,18 @@ public class GlobalExceptionHandler {
         HttpStatus status = switch (ex.getErrorCode()) {
             case USER_NOT_FOUND -> HttpStatus.NOT_FOUND;
             case USER_WITHOUT_ROLE_EXPECTED -> HttpStatus.FORBIDDEN;
+            case INVALID_REFRESH_TOKEN -> HttpStatus.UNAUTHORIZED;
+            case PASSWORD_HASHING_BUSY -> HttpStatus.SERVICE_UNAVAILABLE;
+            case TOO_MANY_LOGIN_ATTEMPTS, TOO_MANY_ACCOUNT_LOOKUPS -> HttpStatus.TOO_MANY_REQUESTS;
         };
 
+        if (ex.getRetryAfterSeconds() > 0) {
+            return ResponseEntity.status(status)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds())).body(error);
+        }
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+        }
         return new ResponseEntity<>(error, status);
     }
 }
@@ -0,0 +1,9 @@
+package co.edu.unicauca.repositories;
+
+/**
+ * Proyección mínima de una cuenta: solo su correo y su ID.
+ */
+public interface AccountIdView {
+    String getEmail();
+    Long getId();
+}
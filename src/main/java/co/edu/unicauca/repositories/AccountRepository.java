@@ -2,10 +2,43 @@ package co.edu.unicauca.repositories;
 
 import co.edu.unicauca.entities.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @Query("SELECT a.idAccount FROM Account a WHERE a.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Query("SELECT a.idAccount AS id, a.email AS email, a.password AS password, a.roles AS roles, "
+            + "a.enabled AS enabled FROM Account a WHERE a.email = :email")
+    Optional<AccountRoleView> findRoleRowByEmail(@Param("email") String email);
+
+    @Query("SELECT a.idAccount AS id, a.email AS email, a.password AS password, a.roles AS roles, "
+            + "a.enabled AS enabled FROM Account a WHERE a.idAccount IN :ids")
+    List<AccountRoleView> findRoleRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.idAccount AS id, a.email AS email, a.password AS password, a.roles AS roles, "
+            + "a.enabled AS enabled FROM Account a WHERE a.idAccount = :id")
+    Optional<AccountRoleView> findRoleRowById(@Param("id") Long id);
+
+    @Query("SELECT a.email AS email, a.idAccount AS id FROM Account a WHERE a.email IN :emails")
+    List<AccountIdView> findIdsByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.password = :password WHERE a.idAccount = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.enabled = :enabled WHERE a.idAccount = :id")
+    int updateEnabled(@Param("id") Long id, @Param("enabled") boolean enabled);
 }
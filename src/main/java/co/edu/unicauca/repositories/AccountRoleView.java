@@ -0,0 +1,18 @@
+package co.edu.unicauca.repositories;
+
+import co.edu.unicauca.enums.Role;
+
+import java.util.Set;
+
+/**
+ * Proyección con los datos de autenticación de una cuenta, usada para cargar cuentas sin
+ * instanciar la entidad ni su relación con {@code User}. Los roles se leen de la columna
+ * {@code roles_mask}, por lo que cada cuenta ocupa una sola fila.
+ */
+public interface AccountRoleView {
+    Long getId();
+    String getEmail();
+    String getPassword();
+    Set<Role> getRoles();
+    boolean isEnabled();
+}
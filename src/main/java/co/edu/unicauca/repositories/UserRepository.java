@@ -2,18 +2,42 @@ package co.edu.unicauca.repositories;
 
 import co.edu.unicauca.entities.User;
 import co.edu.unicauca.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    @Query("SELECT u FROM User u JOIN u.account.roles r WHERE r = :role")
+    @Query("SELECT u FROM User u WHERE bitand(u.account.roles, cast(:#{#role.bit()} as Integer)) <> 0")
     List<User> findByAccountRolesContaining(@Param("role") Role role);
 
+    // Página de usuarios con ID mayor a afterId (paginación por clave); roleMask = 0 no filtra por rol
+    @Query("SELECT u.idUser AS id, u.names AS names, u.lastNames AS lastNames, a.email AS email, a.roles AS roles "
+            + "FROM User u JOIN u.account a "
+            + "WHERE u.idUser > :afterId "
+            + "AND (cast(:roleMask as Integer) = 0 OR bitand(a.roles, cast(:roleMask as Integer)) <> 0) "
+            + "ORDER BY u.idUser")
+    List<UserSummaryView> findPageAfter(@Param("afterId") Long afterId, @Param("roleMask") int roleMask, Limit limit);
+
+    // Recorre todos los usuarios con un cursor de la base de datos; debe consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.idUser AS id, u.names AS names, u.lastNames AS lastNames, a.email AS email, a.roles AS roles "
+            + "FROM User u JOIN u.account a "
+            + "WHERE cast(:roleMask as Integer) = 0 OR bitand(a.roles, cast(:roleMask as Integer)) <> 0 "
+            + "ORDER BY u.idUser")
+    Stream<UserSummaryView> streamAll(@Param("roleMask") int roleMask);
+
     Optional<User> findByAccount_Email(String email);
     List<User> findByAccount_EmailIn(List<String> emails);
 }
@@ -0,0 +1,17 @@
+package co.edu.unicauca.repositories;
+
+import co.edu.unicauca.enums.Role;
+
+import java.util.Set;
+
+/**
+ * Proyección de un usuario para listados y exportaciones: solo ID, nombres, correo y roles,
+ * leídos en una sola fila sin instanciar las entidades {@code User} ni {@code Account}.
+ */
+public interface UserSummaryView {
+    Long getId();
+    String getNames();
+    String getLastNames();
+    String getEmail();
+    Set<Role> getRoles();
+}
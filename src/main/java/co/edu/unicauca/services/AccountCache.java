@@ -0,0 +1,222 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.authentication.AccountSnapshot;
+import co.edu.unicauca.events.AccountChangedEvent;
+import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.repositories.AccountRoleView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria de cuentas, indexada por ID y por correo.
+ *
+ * <p>Las cuentas se cargan con consultas proyectadas que traen solo los datos de autenticación
+ * y los roles, sin instanciar la entidad {@code Account} ni su relación con {@code User}.</p>
+ *
+ * <p>Guarda {@link AccountSnapshot} inmutables con un tamaño máximo y un tiempo de vida
+ * configurables ({@code accountCache.maxSize}, {@code accountCache.ttlMs}). Cuando varios hilos
+ * piden la misma cuenta ausente, solo uno consulta el repositorio y el resto espera su resultado.
+ * Las entradas se invalidan al recibir un {@link AccountChangedEvent}, una vez confirmada la
+ * transacción que modificó la cuenta.</p>
+ *
+ * <p>Los correos sin cuenta se recuerdan en una caché negativa ({@code accountCache.missingMaxSize},
+ * {@code accountCache.missingTtlMs}) para que una avalancha de logins o búsquedas con correos
+ * inventados no llegue a la base de datos. El registro de la cuenta invalida la entrada con el mismo
+ * {@link AccountChangedEvent}.</p>
+ *
+ * <p>Las estadísticas de aciertos y fallos se publican como métricas {@code cache.*} con
+ * las etiquetas {@code cache=accounts.byId}, {@code cache=accounts.byEmail} y {@code cache=accounts.missingEmail}.</p>
+ */
+@Service
+public class AccountCache {
+
+    private final AccountRepository accountRepository;
+    private final Cache<Long, AccountSnapshot> byId;
+    private final Cache<String, AccountSnapshot> byEmail;
+    private final Cache<String, Boolean> missingEmails;
+    // Aumenta con cada invalidación; impide guardar en el otro índice una cuenta cargada antes de un
+    // cambio, o recordar como inexistente un correo que se registró mientras se consultaba
+    private final AtomicLong generation = new AtomicLong();
+
+    public AccountCache(AccountRepository accountRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${accountCache.maxSize:10000}") long maxSize,
+                        @Value("${accountCache.ttlMs:60000}") long ttlMs,
+                        @Value("${accountCache.missingMaxSize:100000}") long missingMaxSize,
+                        @Value("${accountCache.missingTtlMs:60000}") long missingTtlMs) {
+        this.accountRepository = accountRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.missingEmails = Caffeine.newBuilder()
+                .maximumSize(missingMaxSize)
+                .expireAfterWrite(Duration.ofMillis(missingTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "accounts.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "accounts.byEmail");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingEmails, "accounts.missingEmail");
+    }
+
+    /**
+     * Busca una cuenta por su ID, consultando el repositorio solo si no está en caché.
+     *
+     * @param accountId ID de la cuenta
+     * @return copia de la cuenta, o vacío si no existe
+     */
+    public Optional<AccountSnapshot> findById(Long accountId) {
+        long loadGeneration = generation.get();
+        AccountSnapshot snapshot = byId.get(accountId, id -> accountRepository.findRoleRowById(id)
+                .map(AccountCache::toSnapshot)
+                .orElse(null));
+        if (snapshot != null) {
+            putIfCurrent(byEmail, snapshot.email(), snapshot, loadGeneration);
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Busca varias cuentas por ID. Las que no están en caché se cargan juntas con una sola
+     * consulta {@code IN} proyectada.
+     *
+     * @param accountIds IDs de las cuentas
+     * @return cuentas encontradas indexadas por ID; los IDs inexistentes no aparecen
+     */
+    public Map<Long, AccountSnapshot> findAllById(Collection<Long> accountIds) {
+        long loadGeneration = generation.get();
+        return byId.getAll(accountIds, missing -> {
+            Map<Long, AccountSnapshot> loaded = new HashMap<>();
+            for (AccountRoleView row : accountRepository.findRoleRowsByIdIn(List.copyOf(missing))) {
+                AccountSnapshot snapshot = toSnapshot(row);
+                loaded.put(snapshot.id(), snapshot);
+                putIfCurrent(byEmail, snapshot.email(), snapshot, loadGeneration);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Busca una cuenta por su correo, consultando el repositorio solo si no está en caché
+     * ni se sabe ya que el correo no existe.
+     *
+     * @param email correo de la cuenta
+     * @return copia de la cuenta, o vacío si no existe
+     */
+    public Optional<AccountSnapshot> findByEmail(String email) {
+        if (missingEmails.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        long loadGeneration = generation.get();
+        AccountSnapshot snapshot = byEmail.get(email, key -> accountRepository.findRoleRowByEmail(key)
+                .map(AccountCache::toSnapshot)
+                .orElse(null));
+        if (snapshot != null) {
+            putIfCurrent(byId, snapshot.id(), snapshot, loadGeneration);
+        } else {
+            rememberMissing(email, loadGeneration);
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Busca solo el ID de la cuenta asociada al correo. Usa la cuenta en caché si ya está; si no,
+     * una consulta que no carga la cuenta, y recuerda los correos inexistentes.
+     *
+     * @param email correo de la cuenta
+     * @return ID de la cuenta, o vacío si no existe
+     */
+    public Optional<Long> findIdByEmail(String email) {
+        AccountSnapshot cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached.id());
+        }
+        if (missingEmails.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        long loadGeneration = generation.get();
+        Optional<Long> accountId = accountRepository.findIdByEmail(email);
+        if (accountId.isEmpty()) {
+            rememberMissing(email, loadGeneration);
+        }
+        return accountId;
+    }
+
+    /**
+     * Elimina de la caché la cuenta indicada en ambos índices.
+     *
+     * @param accountId ID de la cuenta (puede ser {@code null})
+     * @param email correo de la cuenta (puede ser {@code null})
+     */
+    public void invalidate(Long accountId, String email) {
+        generation.incrementAndGet();
+        if (accountId != null) {
+            AccountSnapshot previous = byId.asMap().remove(accountId);
+            if (previous != null) {
+                byEmail.invalidate(previous.email());
+            }
+        }
+        if (email != null) {
+            missingEmails.invalidate(email);
+            byEmail.invalidate(email);
+        }
+    }
+
+    /**
+     * Guarda en el otro índice la cuenta recién leída, salvo que alguna cuenta se haya invalidado
+     * desde que empezó la lectura: en ese caso la copia podría ser anterior al cambio y se descarta.
+     * Una invalidación posterior a la comprobación elimina la entrada por sí misma.
+     */
+    private <K> void putIfCurrent(Cache<K, AccountSnapshot> index, K key, AccountSnapshot snapshot,
+                                  long loadGeneration) {
+        if (index.asMap().putIfAbsent(key, snapshot) == null && generation.get() != loadGeneration) {
+            index.asMap().remove(key, snapshot);
+        }
+    }
+
+    /**
+     * Recuerda que el correo no existe, salvo que alguna cuenta se haya invalidado desde que empezó
+     * la consulta: en ese caso el resultado podría ser anterior al registro de la cuenta.
+     */
+    private void rememberMissing(String email, long loadGeneration) {
+        missingEmails.put(email, Boolean.TRUE);
+        if (generation.get() != loadGeneration) {
+            missingEmails.invalidate(email);
+        }
+    }
+
+    /**
+     * Crea la copia de una cuenta a partir de su proyección.
+     */
+    private static AccountSnapshot toSnapshot(AccountRoleView row) {
+        return new AccountSnapshot(row.getId(), row.getEmail(), row.getPassword(), row.getRoles(),
+                row.isEnabled());
+    }
+
+    /**
+     * Invalida la cuenta modificada una vez confirmada la transacción que la cambió.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        invalidate(event.accountId(), event.email());
+    }
+}
@@ -1,41 +1,89 @@
 package co.edu.unicauca.services;
 
 import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.authentication.AccountSnapshot;
 import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.events.AccountChangedEvent;
 import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.utilities.DummyPasswordHash;
 import co.edu.unicauca.utilities.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 
 /**
  * Servicio de Spring Security para cargar detalles de usuario durante la autenticación.
  * NO debe contener lógica de negocio, solo la carga de datos para Spring Security.
  */
 @Service
-public class AccountDetailsService implements UserDetailsService {
+public class AccountDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    @Autowired
+    private AccountCache _accountCache;
 
     @Autowired
     private AccountRepository _accountRepository;
 
+    @Autowired
+    private ApplicationEventPublisher _eventPublisher;
+
+    @Autowired
+    private LoginThrottleService _loginThrottleService;
+
+    @Autowired
+    private DummyPasswordHash _dummyPasswordHash;
+
     /**
      * Método requerido por Spring Security para cargar un usuario por su username (email en este caso)
      * Este método es llamado automáticamente por el AuthenticationManager durante el login
+     *
+     * <p>Un correo sin cuenta no lanza {@link UsernameNotFoundException}: devuelve
+     * {@link AccountDetails#unknown} con un hash ficticio precalculado, para que la verificación de la
+     * contraseña cueste lo mismo que con una cuenta real y el login responda en el mismo tiempo.
+     * La comprobación posterior a la contraseña ({@code SecurityConfig}) rechaza esos detalles.
+     * Los correos inexistentes quedan en la caché negativa de {@link AccountCache}.</p>
      */
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Logger.info(getClass(), "Loading user details for email: " + email);
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Los correos se guardan normalizados, así que el login no distingue mayúsculas
+        String email = AccountService.normalizeEmail(username);
+        Logger.info(getClass(), "Loading user details for email: {}", Logger.maskEmail(email));
+
+        // El bloqueo temporal hace que Spring Security rechace el login sin verificar la contraseña
+        boolean locked = _loginThrottleService.isLocked(email);
+        Optional<AccountSnapshot> account = _accountCache.findByEmail(email);
+        if (account.isEmpty()) {
+            Logger.warn(getClass(), "User not found with email: {}", Logger.maskEmail(email));
+            return AccountDetails.unknown(email, _dummyPasswordHash.get(), locked);
+        }
+
+        Logger.success(getClass(), "User details loaded successfully for email: {}", Logger.maskEmail(email));
+        return new AccountDetails(account.get().toAccount(), locked);
+    }
 
-        Account account = _accountRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    Logger.error(getClass(), "User not found with email: " + email);
-                    return new UsernameNotFoundException("User not found with email: " + email);
-                });
+    /**
+     * Método llamado por Spring Security tras un login exitoso cuando el hash almacenado usa un
+     * algoritmo o un costo desactualizado. Guarda el nuevo hash calculado con la contraseña recién
+     * verificada.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AccountDetails details = (AccountDetails) user;
+        _accountRepository.updatePassword(details.getId(), newPassword);
+        _eventPublisher.publishEvent(new AccountChangedEvent(details.getId(), details.getUsername()));
+        Logger.info(getClass(), "Password hash upgraded for account ID: {}", details.getId());
 
-        Logger.success(getClass(), "User details loaded successfully for email: " + email);
+        // La cuenta de AccountDetails es una copia desvinculada creada desde la caché
+        Account account = details.getAccount();
+        account.setPassword(newPassword);
         return new AccountDetails(account);
     }
 }
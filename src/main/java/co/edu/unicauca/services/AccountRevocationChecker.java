@@ -0,0 +1,64 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.repositories.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Verificación acotada de que la cuenta de un token todavía existe.
+ *
+ * <p>En modo sin estado el filtro JWT no consulta la base de datos en cada petición.
+ * Este servicio permite cortar el acceso a cuentas eliminadas consultando su existencia
+ * a lo sumo una vez por cuenta cada {@code jwt.revocationCheckTtlMs} milisegundos,
+ * con un número máximo de cuentas en memoria.</p>
+ */
+@Service
+public class AccountRevocationChecker {
+
+    private final AccountRepository accountRepository;
+    private final boolean enabled;
+    private final Cache<Long, Boolean> existence;
+
+    public AccountRevocationChecker(AccountRepository accountRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${jwt.revocationCheck:true}") boolean enabled,
+                                    @Value("${jwt.revocationCheckTtlMs:30000}") long ttlMs,
+                                    @Value("${jwt.revocationCheckMaxSize:10000}") long maxSize) {
+        this.accountRepository = accountRepository;
+        this.enabled = enabled;
+        this.existence = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, existence, "accounts.existence");
+    }
+
+    /**
+     * Indica si la cuenta ya no debe ser aceptada aunque su token sea válido.
+     *
+     * @param accountId ID de la cuenta contenida en el token
+     * @return {@code true} si la verificación está activa y la cuenta no existe
+     */
+    public boolean isRevoked(Long accountId) {
+        if (!enabled) {
+            return false;
+        }
+        return !existence.get(accountId, accountRepository::existsById);
+    }
+
+    /**
+     * Descarta el resultado en memoria de una cuenta para que se vuelva a consultar.
+     *
+     * @param accountId ID de la cuenta
+     */
+    public void invalidate(Long accountId) {
+        existence.invalidate(accountId);
+    }
+}
@@ -1,12 +1,29 @@
 package co.edu.unicauca.services;
 
+import co.edu.unicauca.authentication.AccountSnapshot;
 import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.AuthErrorCode;
 import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.events.AccountChangedEvent;
+import co.edu.unicauca.exceptions.AuthException;
+import co.edu.unicauca.repositories.AccountIdView;
 import co.edu.unicauca.repositories.AccountRepository;
 import co.edu.unicauca.utilities.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Servicio encargado de la gestión y validación de cuentas de usuario en el sistema.
@@ -38,14 +55,46 @@ public class AccountService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AccountCache _accountCache;
+
+    @Autowired
+    private TokenRevocationService _tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService _refreshTokenService;
+
+    @Autowired
+    private ApplicationEventPublisher _eventPublisher;
+
+    // Cantidad máxima de elementos aceptados en una operación por lotes
+    @Value("${auth.batchMaxSize:1000}")
+    private int batchMaxSize;
+
+    // Cantidad máxima de correos aceptados en una búsqueda masiva de IDs
+    @Value("${auth.emailLookupMaxSize:5000}")
+    private int emailLookupMaxSize;
+
+    /**
+     * Normaliza un correo electrónico a la forma en que se guarda y se busca: sin espacios en los
+     * extremos y en minúsculas. La restricción única de la base de datos distingue mayúsculas, por lo
+     * que todo correo debe pasar por aquí antes de guardarse o de usarse en una consulta.
+     *
+     * @param email Correo electrónico tal como lo envió el cliente.
+     * @return Correo normalizado, o {@code null} si {@code email} es {@code null}.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Verifica si un correo electrónico ya existe en la base de datos.
      *
-     * @param email Correo electrónico a verificar.
+     * @param email Correo electrónico a verificar (se normaliza con {@link #normalizeEmail}).
      * @return {@code true} si el correo ya está registrado, {@code false} en caso contrario.
      */
     public boolean emailExists(String email) {
-        return _accountRepository.findByEmail(email).isPresent();
+        return _accountRepository.existsByEmail(normalizeEmail(email));
     }
 
     /**
@@ -58,7 +107,7 @@ public class AccountService {
      */
     public void validateEmailNotExists(String email) {
         if (emailExists(email)) {
-            Logger.warn(getClass(), "Email already in use: " + email);
+            Logger.warn(getClass(), "Email already in use: {}", Logger.maskEmail(email));
             throw new IllegalArgumentException("Email already in use");
         }
     }
@@ -98,42 +147,147 @@ public class AccountService {
      * @throws IllegalArgumentException Si la cuenta no existe.
      */
     public boolean validateAccountRole(Long accountId, Role role) {
-        Logger.info(getClass(), "Validating role " + role + " for account ID: " + accountId);
+        Logger.info(getClass(), "Validating role {} for account ID: {}", role, accountId);
 
-        Account account = _accountRepository.findById(accountId)
+        AccountSnapshot account = _accountCache.findById(accountId)
                 .orElseThrow(() -> {
-                    Logger.error(getClass(), "Account not found with ID: " + accountId);
+                    Logger.error(getClass(), "Account not found with ID: {}", accountId);
                     return new IllegalArgumentException("Account not found with ID: " + accountId);
                 });
 
         boolean hasRole = account.hasRole(role);
 
         if (hasRole) {
-            Logger.success(getClass(), "Account ID " + accountId + " has role " + role);
+            Logger.success(getClass(), "Account ID {} has role {}", accountId, role);
         } else {
-            Logger.warn(getClass(), "Account ID " + accountId + " does not have role " + role);
+            Logger.warn(getClass(), "Account ID {} does not have role {}", accountId, role);
         }
 
         return hasRole;
     }
+    /** Resultado de una validación por lotes y cantidad de IDs distintos que no corresponden a ninguna cuenta. */
+    public record RoleValidation(List<Boolean> results, int missingAccounts) {}
+
+    /**
+     * Valida por lotes si cada cuenta tiene el rol indicado en la misma posición.
+     *
+     * <p>Todas las cuentas se resuelven con una sola consulta (o desde la caché). Una cuenta
+     * inexistente o un rol {@code null} se reportan como {@code false}.</p>
+     *
+     * @param accountIds IDs de las cuentas a validar.
+     * @param roles Rol esperado para cada cuenta, alineado con {@code accountIds}.
+     * @return resultados en el mismo orden de la solicitud y cantidad de cuentas inexistentes.
+     * @throws IllegalArgumentException Si el lote supera el tamaño máximo permitido.
+     */
+    public RoleValidation validateAccountRoles(List<Long> accountIds, List<Role> roles) {
+        validateBatchSize(accountIds.size());
+        Logger.info(getClass(), "Validating roles for {} accounts", accountIds.size());
+
+        Set<Long> distinctIds = new HashSet<>(accountIds);
+        distinctIds.remove(null);
+        Map<Long, AccountSnapshot> accounts = _accountCache.findAllById(distinctIds);
+
+        List<Boolean> results = new ArrayList<>(accountIds.size());
+        for (int i = 0; i < accountIds.size(); i++) {
+            AccountSnapshot account = accounts.get(accountIds.get(i));
+            Role role = roles.get(i);
+            results.add(account != null && role != null && account.hasRole(role));
+        }
+        return new RoleValidation(results, distinctIds.size() - accounts.size());
+    }
+
+    /**
+     * Verifica que una operación por lotes no supere {@code auth.batchMaxSize} elementos.
+     *
+     * @param size Cantidad de elementos del lote.
+     * @throws IllegalArgumentException Si el lote es demasiado grande.
+     */
+    public void validateBatchSize(int size) {
+        if (size > batchMaxSize) {
+            throw new IllegalArgumentException("Batch size " + size + " exceeds the limit of " + batchMaxSize);
+        }
+    }
+
     /**
      * Obtiene el ID de una cuenta a partir de su email.
      *
-     * @param email Email de la cuenta a buscar.
+     * @param rawEmail Email de la cuenta a buscar (se normaliza con {@link #normalizeEmail}).
      * @return ID de la cuenta.
      * @throws IllegalArgumentException Si no existe una cuenta con ese email.
      */
-    public Long getAccountIdByEmail(String email) {
-        Logger.info(getClass(), "Searching account ID for email: " + email);
+    public Long getAccountIdByEmail(String rawEmail) {
+        String email = normalizeEmail(rawEmail);
+        Logger.info(getClass(), "Searching account ID for email: {}", Logger.maskEmail(email));
 
-        Account account = _accountRepository.findByEmail(email)
+        // Solo se lee el ID: se usa la caché si ya tiene la cuenta o una consulta que no carga la entidad;
+        // los correos inexistentes se recuerdan para no repetir la consulta
+        Long accountId = _accountCache.findIdByEmail(email)
                 .orElseThrow(() -> {
-                    Logger.error(getClass(), "Account not found with email: " + email);
+                    Logger.error(getClass(), "Account not found with email: {}", Logger.maskEmail(email));
                     return new IllegalArgumentException("Account not found with email: " + email);
                 });
 
-        Logger.success(getClass(), "Account ID found: " + account.getIdAccount() + " for email: " + email);
+        Logger.success(getClass(), "Account ID found: {} for email: {}", accountId, Logger.maskEmail(email));
+
+        return accountId;
+    }
+
+    /**
+     * Obtiene los IDs de varias cuentas a partir de sus emails con una sola consulta.
+     *
+     * <p>Solo se leen el email y el ID de cada cuenta; los emails que no existen no aparecen
+     * en el resultado. Los emails se buscan normalizados ({@link #normalizeEmail}) y así aparecen
+     * en las filas devueltas.</p>
+     *
+     * @param emails Emails de las cuentas a buscar (se ignoran duplicados y valores nulos).
+     * @return filas (email, ID) de las cuentas encontradas.
+     * @throws IllegalArgumentException Si se supera {@code auth.emailLookupMaxSize} emails.
+     */
+    public List<AccountIdView> getAccountIdsByEmails(Collection<String> emails) {
+        Set<String> distinctEmails = new LinkedHashSet<>();
+        for (String email : emails) {
+            if (email != null) {
+                distinctEmails.add(normalizeEmail(email));
+            }
+        }
+        if (distinctEmails.size() > emailLookupMaxSize) {
+            throw new IllegalArgumentException("Batch size " + distinctEmails.size()
+                    + " exceeds the limit of " + emailLookupMaxSize);
+        }
+        if (distinctEmails.isEmpty()) {
+            return List.of();
+        }
+
+        Logger.info(getClass(), "Searching account IDs for {} emails", distinctEmails.size());
+        return _accountRepository.findIdsByEmailIn(distinctEmails);
+    }
+
+    /**
+     * Habilita o deshabilita una cuenta.
+     *
+     * <p>Al deshabilitarla se revocan sus tokens de acceso vigentes y sus tokens de refresco, y la
+     * cuenta deja de poder iniciar sesión. Al habilitarla se aceptan de nuevo los tokens emitidos
+     * a partir de ese momento.</p>
+     *
+     * @param accountId ID de la cuenta.
+     * @param enabled {@code true} para habilitar la cuenta, {@code false} para deshabilitarla.
+     * @throws AuthException ({@link AuthErrorCode#USER_NOT_FOUND}) si la cuenta no existe.
+     */
+    @Transactional
+    public void setAccountEnabled(Long accountId, boolean enabled) {
+        AccountSnapshot account = _accountCache.findById(accountId)
+                .orElseThrow(() -> new AuthException(AuthErrorCode.USER_NOT_FOUND,
+                        "Account not found with ID: " + accountId));
+
+        _accountRepository.updateEnabled(accountId, enabled);
+        if (enabled) {
+            _tokenRevocationService.reinstateAccount(accountId);
+        } else {
+            _tokenRevocationService.revokeAccount(accountId);
+            _refreshTokenService.revokeAll(accountId);
+        }
+        _eventPublisher.publishEvent(new AccountChangedEvent(accountId, account.email()));
 
-        return account.getIdAccount();
+        Logger.success(getClass(), "Cuenta {} {}", accountId, enabled ? "habilitada" : "deshabilitada");
     }
 }
@@ -1,15 +1,21 @@
 package co.edu.unicauca.services;
 
 import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.authentication.AccountSnapshot;
+import co.edu.unicauca.authentication.VerifiedToken;
 import co.edu.unicauca.dtos.JwtResponseDTO;
 import co.edu.unicauca.dtos.LoginRequestDTO;
-import co.edu.unicauca.entities.Account;
-import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.enums.AuthErrorCode;
+import co.edu.unicauca.exceptions.AuthException;
 import co.edu.unicauca.utilities.JwtUtils;
 import co.edu.unicauca.utilities.Logger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -31,22 +37,37 @@ public class AuthService {
     private JwtUtils _jwtUtils;
 
     @Autowired
-    private AccountRepository _accountRepository;
+    private AccountCache _accountCache;
+
+    @Autowired
+    private RefreshTokenService _refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService _tokenRevocationService;
+
+    @Autowired
+    private MeterRegistry _meterRegistry;
 
     /**
      * Autentica al usuario con las credenciales proporcionadas.
      *
      * Si las credenciales son válidas, genera y devuelve un token JWT
-     * junto con la información del usuario autenticado.
+     * junto con la información del usuario autenticado y un token de refresco
+     * para obtener nuevos tokens sin volver a verificar la contraseña.
+     *
+     * La duración se publica en el timer {@code auth.login} con la etiqueta {@code outcome}
+     * ({@code success}, {@code bad_credentials}, {@code disabled}, {@code locked} o {@code error}).
      *
      * @param loginRequest DTO que contiene el correo y la contraseña.
-     * @return {@link JwtResponseDTO} con el token JWT, el ID del usuario y sus roles.
+     * @return {@link JwtResponseDTO} con el token JWT, el token de refresco, el ID del usuario y sus roles.
      * @throws BadCredentialsException si las credenciales son inválidas.
      */
     @Transactional
     public JwtResponseDTO authenticateUser(LoginRequestDTO loginRequest) {
-        Logger.info(getClass(), "Intentando iniciar sesión con el correo: " + loginRequest.getEmail());
+        Logger.info(getClass(), "Intentando iniciar sesión con el correo: {}", Logger.maskEmail(loginRequest.getEmail()));
 
+        Timer.Sample sample = Timer.start(_meterRegistry);
+        String outcome = "error";
         try {
             // Autenticar usuario con Spring Security
             Authentication auth = _authenticationManager.authenticate(
@@ -63,7 +84,7 @@ public class AuthService {
             String accessToken = _jwtUtils.generateJwtToken(userDetails);
 
             // Verificar que la cuenta exista en la base de datos
-            Account account = _accountRepository.findById(userDetails.getId())
+            _accountCache.findById(userDetails.getId())
                     .orElseThrow(() -> new RuntimeException("Cuenta no encontrada"));
 
             // Extraer roles del usuario
@@ -72,19 +93,80 @@ public class AuthService {
                     .map(a -> a.getAuthority())
                     .toList();
 
-            Logger.success(getClass(), "Inicio de sesión exitoso para el ID: " + userDetails.getId()
-                    + " | Roles: " + roles);
+            Logger.success(getClass(), "Inicio de sesión exitoso para el ID: {} | Roles: {}", userDetails.getId(), roles);
+
+            String refreshToken = _refreshTokenService.issue(userDetails.getId());
+            outcome = "success";
 
             // Retornar respuesta con token y roles
             return new JwtResponseDTO(
                     accessToken,
+                    refreshToken,
                     userDetails.getId(),
                     roles
             );
 
         } catch (BadCredentialsException e) {
+            outcome = "bad_credentials";
             Logger.error(getClass(), "Error de inicio de sesión - Credenciales inválidas");
             throw new BadCredentialsException("Correo o contraseña incorrectos");
+        } catch (DisabledException e) {
+            outcome = "disabled";
+            throw e;
+        } catch (LockedException e) {
+            outcome = "locked";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("auth.login")
+                    .description("Inicio de sesión completo: búsqueda de la cuenta, contraseña y emisión de tokens")
+                    .tag("outcome", outcome)
+                    .register(_meterRegistry));
+        }
+    }
+
+    /**
+     * Emite un nuevo token JWT a partir de un token de refresco, sin ejecutar el codificador de contraseñas.
+     *
+     * <p>El token de refresco presentado se consume y se devuelve uno nuevo. Los roles se leen de la
+     * cuenta actual, por lo que los cambios de roles se reflejan en el siguiente refresco.</p>
+     *
+     * @param refreshToken token de refresco entregado en el login o en el refresco anterior.
+     * @return {@link JwtResponseDTO} con el nuevo token JWT y el nuevo token de refresco.
+     * @throws AuthException ({@link AuthErrorCode#INVALID_REFRESH_TOKEN}) si el token no es válido
+     *                       o la cuenta ya no existe o está deshabilitada.
+     */
+    public JwtResponseDTO refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = _refreshTokenService.rotate(refreshToken);
+
+        AccountSnapshot account = _accountCache.findById(rotation.accountId())
+                .filter(AccountSnapshot::enabled)
+                .orElseThrow(() -> new AuthException(AuthErrorCode.INVALID_REFRESH_TOKEN));
+        AccountDetails accountDetails = new AccountDetails(account.toAccount());
+
+        String accessToken = _jwtUtils.generateJwtToken(accountDetails);
+        List<String> roles = accountDetails.getAuthorities()
+                .stream()
+                .map(a -> a.getAuthority())
+                .toList();
+
+        Logger.success(getClass(), "Token renovado para el ID: {}", account.id());
+        return new JwtResponseDTO(accessToken, rotation.refreshToken(), account.id(), roles);
+    }
+
+    /**
+     * Cierra la sesión: revoca el token de acceso hasta su expiración y la familia del token de refresco.
+     *
+     * <p>Los tokens inválidos o ausentes se ignoran, de modo que cerrar sesión dos veces no es un error.</p>
+     *
+     * @param accessToken token JWT de la sesión (puede ser {@code null}).
+     * @param refreshToken token de refresco de la sesión (puede ser {@code null}).
+     */
+    public void logout(String accessToken, String refreshToken) {
+        VerifiedToken verified = _jwtUtils.verify(accessToken);
+        if (verified.isValid() && verified.tokenId() != null) {
+            _tokenRevocationService.revokeToken(verified.tokenId(), verified.expiresAt());
+            Logger.info(getClass(), "Sesión cerrada para la cuenta {}", verified.accountId());
         }
+        _refreshTokenService.revoke(refreshToken);
     }
 }
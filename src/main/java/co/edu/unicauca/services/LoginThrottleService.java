@@ -0,0 +1,257 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.enums.AuthErrorCode;
+import co.edu.unicauca.exceptions.AuthException;
+import co.edu.unicauca.utilities.Logger;
+import co.edu.unicauca.utilities.SlidingWindowCounter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Límite de intentos de inicio de sesión por dirección IP y por correo, y de búsquedas de cuentas
+ * inexistentes por dirección IP.
+ *
+ * <p>Por IP se cuentan todos los intentos en una ventana deslizante de {@code loginThrottle.ipWindowMs};
+ * por correo solo los fallidos en una ventana de {@code loginThrottle.emailWindowMs}. Al alcanzar
+ * {@code loginThrottle.emailMaxFailures} fallos la cuenta queda bloqueada temporalmente hasta que los
+ * fallos salgan de la ventana; un login exitoso borra los fallos del correo.</p>
+ *
+ * <p>Los endpoints públicos que resuelven el ID de una cuenta a partir de su correo indican por contrato
+ * si la cuenta existe. Para que no sirvan para enumerar correos, cada IP tiene un presupuesto de
+ * {@code loginThrottle.lookupMaxMisses} correos inexistentes por ventana de {@code loginThrottle.lookupWindowMs}.
+ * Una búsqueda masiva cuyos correos inexistentes no caben en lo que queda del presupuesto se rechaza
+ * entera con 429, de modo que una sola petición no revela más que lo que permite el presupuesto; agotado,
+ * las búsquedas responden 429 hasta que los fallos salgan de la ventana. La validación masiva de roles
+ * solo registra las cuentas inexistentes, sin rechazar la petición en curso.</p>
+ *
+ * <p>La verificación se hace antes de enviar la petición al pool de hashing, de modo que las peticiones
+ * limitadas no ejecutan BCrypt. Los contadores ({@link SlidingWindowCounter}) no usan bloqueos y se
+ * guardan en cachés acotadas a {@code loginThrottle.maxKeys} claves; una clave sin actividad durante
+ * dos ventanas ya no tiene eventos que contar y se descarta.</p>
+ *
+ * <p>La IP es la dirección remota de la petición; detrás de un proxy inverso se debe configurar
+ * {@code server.forward-headers-strategy} para que refleje la del cliente.</p>
+ */
+@Service
+public class LoginThrottleService {
+
+    private final boolean enabled;
+    private final int ipMaxAttempts;
+    private final long ipWindowMs;
+    private final int emailMaxFailures;
+    private final long emailWindowMs;
+    private final Cache<String, SlidingWindowCounter> attemptsByIp;
+    private final Cache<String, SlidingWindowCounter> failuresByEmail;
+    private final int lookupMaxMisses;
+    private final long lookupWindowMs;
+    private final Cache<String, SlidingWindowCounter> lookupMissesByIp;
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+    private final Counter lookupRejections;
+
+    public LoginThrottleService(MeterRegistry meterRegistry,
+                                @Value("${loginThrottle.enabled:true}") boolean enabled,
+                                @Value("${loginThrottle.ipMaxAttempts:30}") int ipMaxAttempts,
+                                @Value("${loginThrottle.ipWindowMs:60000}") long ipWindowMs,
+                                @Value("${loginThrottle.emailMaxFailures:5}") int emailMaxFailures,
+                                @Value("${loginThrottle.emailWindowMs:900000}") long emailWindowMs,
+                                @Value("${loginThrottle.lookupMaxMisses:100}") int lookupMaxMisses,
+                                @Value("${loginThrottle.lookupWindowMs:60000}") long lookupWindowMs,
+                                @Value("${loginThrottle.maxKeys:100000}") long maxKeys) {
+        if (ipMaxAttempts <= 0 || emailMaxFailures <= 0 || lookupMaxMisses <= 0) {
+            throw new IllegalArgumentException("loginThrottle limits must be positive");
+        }
+        this.enabled = enabled;
+        this.ipMaxAttempts = ipMaxAttempts;
+        this.ipWindowMs = ipWindowMs;
+        this.emailMaxFailures = emailMaxFailures;
+        this.emailWindowMs = emailWindowMs;
+        this.attemptsByIp = counters(maxKeys, ipWindowMs);
+        this.failuresByEmail = counters(maxKeys, emailWindowMs);
+        this.lookupMaxMisses = lookupMaxMisses;
+        this.lookupWindowMs = lookupWindowMs;
+        this.lookupMissesByIp = counters(maxKeys, lookupWindowMs);
+        CaffeineCacheMetrics.monitor(meterRegistry, attemptsByIp, "login.throttle.ip");
+        CaffeineCacheMetrics.monitor(meterRegistry, failuresByEmail, "login.throttle.email");
+        CaffeineCacheMetrics.monitor(meterRegistry, lookupMissesByIp, "login.throttle.lookup");
+        this.ipRejections = rejections(meterRegistry, "ip");
+        this.emailRejections = rejections(meterRegistry, "email");
+        this.lookupRejections = rejections(meterRegistry, "lookup");
+    }
+
+    /**
+     * Registra un intento de inicio de sesión si la IP y el correo no superan sus límites.
+     *
+     * @param ip dirección del cliente
+     * @param email correo con el que se intenta iniciar sesión
+     * @throws AuthException con {@link AuthErrorCode#TOO_MANY_LOGIN_ATTEMPTS} si se alcanzó alguno de los límites
+     */
+    public void checkAllowed(String ip, String email) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+
+        long emailWaitMs = millisUntilUnlocked(email, now);
+        if (emailWaitMs > 0) {
+            emailRejections.increment();
+            Logger.warn(getClass(), "Inicio de sesión bloqueado temporalmente para: {}", Logger.maskEmail(email));
+            throw tooManyAttempts(emailWaitMs);
+        }
+
+        SlidingWindowCounter attempts = attemptsByIp.get(ip, key -> new SlidingWindowCounter(ipWindowMs));
+        if (!attempts.tryAcquire(ipMaxAttempts, now)) {
+            ipRejections.increment();
+            Logger.warn(getClass(), "Demasiados intentos de inicio de sesión desde: {}", ip);
+            throw tooManyAttempts(attempts.millisUntilAvailable(ipMaxAttempts, now));
+        }
+    }
+
+    /**
+     * Registra un intento fallido (credenciales inválidas) para el correo.
+     *
+     * @param email correo usado en el intento
+     */
+    public void recordFailure(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        failuresByEmail.get(key(email), key -> new SlidingWindowCounter(emailWindowMs))
+                .increment(System.currentTimeMillis());
+    }
+
+    /**
+     * Borra los intentos fallidos del correo tras un inicio de sesión exitoso.
+     *
+     * @param email correo autenticado
+     */
+    public void recordSuccess(String email) {
+        if (enabled && email != null) {
+            failuresByEmail.invalidate(key(email));
+        }
+    }
+
+    /**
+     * @param email correo de la cuenta
+     * @return {@code true} si la cuenta está bloqueada temporalmente por intentos fallidos
+     */
+    public boolean isLocked(String email) {
+        return enabled && millisUntilUnlocked(email, System.currentTimeMillis()) > 0;
+    }
+
+    /**
+     * @param email correo de la cuenta
+     * @return segundos que faltan para que la cuenta deje de estar bloqueada; {@code 0} si no lo está
+     */
+    public long secondsUntilUnlocked(String email) {
+        return enabled ? toSeconds(millisUntilUnlocked(email, System.currentTimeMillis())) : 0;
+    }
+
+    /**
+     * Verifica que la IP no haya agotado su presupuesto de búsquedas de cuentas inexistentes.
+     *
+     * @param ip dirección del cliente
+     * @throws AuthException con {@link AuthErrorCode#TOO_MANY_ACCOUNT_LOOKUPS} si lo agotó
+     */
+    public void checkLookupAllowed(String ip) {
+        if (!enabled) {
+            return;
+        }
+        SlidingWindowCounter misses = lookupMissesByIp.getIfPresent(ip);
+        long waitMs = misses == null ? 0 : misses.millisUntilAvailable(lookupMaxMisses, System.currentTimeMillis());
+        if (waitMs > 0) {
+            lookupRejections.increment();
+            Logger.warn(getClass(), "Demasiadas búsquedas de cuentas inexistentes desde: {}", ip);
+            throw tooManyLookups(waitMs);
+        }
+    }
+
+    /**
+     * Descuenta del presupuesto de la IP las búsquedas de una petición que no encontraron cuenta.
+     *
+     * <p>Se llama después de la consulta y antes de responder. Si no caben en lo que queda del
+     * presupuesto, la petición se rechaza sin entregar resultados. Se descuentan igual, para que
+     * repetir peticiones rechazadas no sirva para averiguar cuántas cuentas existen.</p>
+     *
+     * @param ip dirección del cliente
+     * @param count cantidad de cuentas inexistentes
+     * @throws AuthException con {@link AuthErrorCode#TOO_MANY_ACCOUNT_LOOKUPS} si no caben en el presupuesto
+     */
+    public void chargeLookups(String ip, int count) {
+        if (!enabled || count <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter misses = lookupMissesByIp.get(ip, key -> new SlidingWindowCounter(lookupWindowMs));
+        if (!misses.tryAdd(count, lookupMaxMisses, now)) {
+            misses.add(count, now);
+            lookupRejections.increment();
+            Logger.warn(getClass(), "Búsqueda de {} cuentas inexistentes rechazada por presupuesto desde: {}", count, ip);
+            throw tooManyLookups(Math.max(1, misses.millisUntilAvailable(lookupMaxMisses, now)));
+        }
+    }
+
+    /**
+     * Registra búsquedas que no encontraron cuenta sin rechazar la petición en curso; cuentan para las
+     * siguientes peticiones de la IP.
+     *
+     * @param ip dirección del cliente
+     * @param count cantidad de cuentas inexistentes
+     */
+    public void recordLookupMisses(String ip, int count) {
+        if (enabled && count > 0) {
+            lookupMissesByIp.get(ip, key -> new SlidingWindowCounter(lookupWindowMs))
+                    .add(count, System.currentTimeMillis());
+        }
+    }
+
+    private long millisUntilUnlocked(String email, long now) {
+        if (email == null) {
+            return 0;
+        }
+        SlidingWindowCounter failures = failuresByEmail.getIfPresent(key(email));
+        return failures == null ? 0 : failures.millisUntilAvailable(emailMaxFailures, now);
+    }
+
+    private static AuthException tooManyAttempts(long waitMs) {
+        return new AuthException(AuthErrorCode.TOO_MANY_LOGIN_ATTEMPTS,
+                AuthErrorCode.TOO_MANY_LOGIN_ATTEMPTS.getDefaultMessage(), toSeconds(waitMs));
+    }
+
+    private static AuthException tooManyLookups(long waitMs) {
+        return new AuthException(AuthErrorCode.TOO_MANY_ACCOUNT_LOOKUPS,
+                AuthErrorCode.TOO_MANY_ACCOUNT_LOOKUPS.getDefaultMessage(), toSeconds(waitMs));
+    }
+
+    private static long toSeconds(long millis) {
+        return millis <= 0 ? 0 : Math.max(1, (millis + 999) / 1000);
+    }
+
+    // Los correos se comparan sin distinguir mayúsculas para que variar el formato no reinicie el conteo
+    private static String key(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Cache<String, SlidingWindowCounter> counters(long maxKeys, long windowMs) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(2 * windowMs))
+                .recordStats()
+                .build();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.login.throttled")
+                .description("Intentos de inicio de sesión rechazados antes de verificar la contraseña")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.enums.AuthErrorCode;
+import co.edu.unicauca.exceptions.AuthException;
+import co.edu.unicauca.utilities.RepositoryCallCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pool de hilos dedicado a las operaciones que codifican o verifican contraseñas (login y registro).
+ *
+ * <p>BCrypt consume CPU de forma intencional; ejecutarlo en los hilos de Tomcat permite que una
+ * ráfaga de logins deje sin hilos al resto de endpoints. Este pool tiene un tamaño fijo
+ * ({@code passwordHashing.poolSize}, por defecto el número de procesadores) y una cola acotada
+ * ({@code passwordHashing.queueCapacity}). Cuando la cola está llena la tarea se rechaza de
+ * inmediato con {@link AuthErrorCode#PASSWORD_HASHING_BUSY} (HTTP 503).</p>
+ *
+ * <p>Los hilos de este pool son siempre hilos de plataforma, también cuando las peticiones se
+ * atienden con hilos virtuales ({@code spring.threads.virtual.enabled}): en ese modo el número de
+ * peticiones concurrentes deja de estar acotado por Tomcat, y este pool es lo que limita cuántos
+ * hashes se calculan a la vez.</p>
+ *
+ * <p>El tamaño de la cola, los hilos activos y los tiempos de espera y ejecución se publican
+ * como métricas {@code executor.*} con la etiqueta {@code name=passwordHashing}.</p>
+ */
+@Service
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${passwordHashing.poolSize:0}") int poolSize,
+                                   @Value("${passwordHashing.queueCapacity:64}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "passwordHashing");
+    }
+
+    /**
+     * Ejecuta la tarea en el pool de hashing.
+     *
+     * @param task tarea que codifica o verifica contraseñas
+     * @return resultado asíncrono de la tarea
+     * @throws AuthException con {@link AuthErrorCode#PASSWORD_HASHING_BUSY} si la cola está llena
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(RepositoryCallCounter.propagate(task), executor);
+        } catch (RejectedExecutionException e) {
+            throw new AuthException(AuthErrorCode.PASSWORD_HASHING_BUSY);
+        }
+    }
+
+    /**
+     * Aplica una operación de hashing a todos los elementos, repartidos en tantas tareas como hilos
+     * tiene el pool, y espera el resultado. Se usa en operaciones masivas para paralelizar el
+     * hashing sin ocupar más de una posición de la cola por hilo.
+     *
+     * @param items elementos a procesar
+     * @param operation operación que codifica o verifica una contraseña
+     * @return resultados en el mismo orden que {@code items}
+     * @throws AuthException con {@link AuthErrorCode#PASSWORD_HASHING_BUSY} si la cola está llena
+     */
+    public <T, R> List<R> mapAll(List<T> items, Function<T, R> operation) {
+        int chunks = Math.min(pool.getCorePoolSize(), items.size());
+        if (chunks == 0) {
+            return List.of();
+        }
+        int chunkSize = (items.size() + chunks - 1) / chunks;
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            futures.add(submit(() -> chunk.stream().map(operation).toList()));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<List<R>> future : futures) {
+            results.addAll(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * @return cantidad de tareas en espera
+     */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,152 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.entities.RefreshToken;
+import co.edu.unicauca.enums.AuthErrorCode;
+import co.edu.unicauca.exceptions.AuthException;
+import co.edu.unicauca.repositories.RefreshTokenRepository;
+import co.edu.unicauca.utilities.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emisión y rotación de tokens de refresco.
+ *
+ * <p>El valor entregado al cliente son 256 bits aleatorios; en la base de datos solo se guarda
+ * su hash SHA-256, indexado, de modo que validar un token es una búsqueda por clave única y no
+ * requiere ejecutar el codificador de contraseñas.</p>
+ *
+ * <p>Cada token se puede usar una sola vez: al usarlo se emite uno nuevo de la misma familia.
+ * Si un token ya usado vuelve a presentarse (por ejemplo, porque fue robado), se revoca la familia
+ * completa y el usuario debe iniciar sesión de nuevo.</p>
+ */
+@Service
+public class RefreshTokenService {
+
+    /** Resultado de una rotación: la cuenta dueña del token y el nuevo token de refresco. */
+    public record Rotation(Long accountId, String refreshToken) {}
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration validity;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refreshExpirationMs:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.validity = Duration.ofMillis(refreshExpirationMs);
+    }
+
+    /**
+     * Emite el primer token de refresco de una sesión (nueva familia).
+     *
+     * @param accountId ID de la cuenta autenticada
+     * @return valor opaco del token, que solo se conoce en este momento
+     */
+    @Transactional
+    public String issue(Long accountId) {
+        return issue(accountId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consume un token de refresco y emite su reemplazo.
+     *
+     * @param refreshToken valor presentado por el cliente
+     * @return cuenta dueña del token y el nuevo token de refresco
+     * @throws AuthException ({@link AuthErrorCode#INVALID_REFRESH_TOKEN}) si el token no existe,
+     *                       expiró, fue revocado o ya había sido usado
+     */
+    @Transactional(noRollbackFor = AuthException.class)
+    public Rotation rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new AuthException(AuthErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new AuthException(AuthErrorCode.INVALID_REFRESH_TOKEN));
+
+        if (current.isRevoked() || current.getExpiresAt().isBefore(Instant.now())) {
+            throw new AuthException(AuthErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            // Reutilización: la revocación se confirma aunque la petición falle (noRollbackFor)
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            Logger.warn(getClass(), "Reutilización de token de refresco, familia revocada para la cuenta {}",
+                    current.getAccountId());
+            throw new AuthException(AuthErrorCode.INVALID_REFRESH_TOKEN);
+        }
+
+        String next = issue(current.getAccountId(), current.getFamilyId());
+        return new Rotation(current.getAccountId(), next);
+    }
+
+    /**
+     * Revoca todos los tokens de refresco de una cuenta.
+     *
+     * @param accountId ID de la cuenta
+     */
+    @Transactional
+    public void revokeAll(Long accountId) {
+        refreshTokenRepository.revokeByAccountId(accountId);
+    }
+
+    /**
+     * Revoca la familia del token de refresco indicado (logout). Un token desconocido se ignora.
+     *
+     * @param refreshToken valor presentado por el cliente
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Elimina los tokens de refresco expirados.
+     */
+    @Scheduled(initialDelayString = "${jwt.revocationSyncMs:30000}", fixedDelayString = "${jwt.revocationSyncMs:30000}")
+    @Transactional
+    public void pruneExpired() {
+        int pruned = refreshTokenRepository.deleteExpired(Instant.now());
+        if (pruned > 0) {
+            Logger.info(getClass(), "Tokens de refresco expirados eliminados: {}", pruned);
+        }
+    }
+
+    private String issue(Long accountId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken entity = new RefreshToken();
+        entity.setTokenHash(hash(token));
+        entity.setAccountId(accountId);
+        entity.setFamilyId(familyId);
+        entity.setExpiresAt(Instant.now().plus(validity));
+        refreshTokenRepository.save(entity);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
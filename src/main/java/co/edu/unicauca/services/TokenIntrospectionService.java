@@ -0,0 +1,121 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.enums.TokenRejectReason;
+import co.edu.unicauca.utilities.JwtUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Introspección de tokens JWT para servicios que no pueden verificarlos por sí mismos.
+ *
+ * <p>Los resultados de {@link JwtUtils#verify(String)} se guardan en una caché indexada por el hash
+ * SHA-256 del token, de modo que introspecciones repetidas del mismo token no vuelven a verificar
+ * la firma ni a parsear el JSON. Cada resultado válido vence en el {@code exp} del token; los
+ * rechazos se guardan solo {@code introspection.negativeTtlMs} milisegundos. La revocación se consulta
+ * en cada llamada, también en los aciertos de caché, por lo que un logout se refleja de inmediato.</p>
+ *
+ * <p>Publica las métricas {@code cache.*} con la etiqueta {@code cache=introspection} y el timer
+ * {@code auth.introspect} con la etiqueta {@code cache=hit|miss}.</p>
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private final JwtUtils jwtUtils;
+    private final TokenRevocationService tokenRevocationService;
+    private final Cache<ByteBuffer, VerifiedToken> results;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    public TokenIntrospectionService(JwtUtils jwtUtils,
+                                     TokenRevocationService tokenRevocationService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${introspection.maxSize:10000}") long maxSize,
+                                     @Value("${introspection.negativeTtlMs:5000}") long negativeTtlMs) {
+        this.jwtUtils = jwtUtils;
+        this.tokenRevocationService = tokenRevocationService;
+        long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        if (!value.isValid()) {
+                            return negativeTtlNanos;
+                        }
+                        long remainingMs = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "introspection");
+        this.hitTimer = Timer.builder("auth.introspect").tag("cache", "hit").register(meterRegistry);
+        this.missTimer = Timer.builder("auth.introspect").tag("cache", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Verifica un token usando la caché de resultados.
+     *
+     * @param token token JWT a verificar
+     * @return resultado de la verificación; los tokens revocados se rechazan con {@link TokenRejectReason#REVOKED}
+     */
+    public VerifiedToken introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return VerifiedToken.rejected(TokenRejectReason.MISSING);
+        }
+        long start = System.nanoTime();
+
+        ByteBuffer key = ByteBuffer.wrap(sha256(token));
+        VerifiedToken result = results.getIfPresent(key);
+        boolean hit = result != null;
+        if (!hit) {
+            result = jwtUtils.verify(token);
+            results.put(key, result);
+        }
+
+        if (result.isValid()) {
+            if (!result.expiresAt().isAfter(Instant.now())) {
+                result = VerifiedToken.rejected(TokenRejectReason.EXPIRED);
+            } else if (tokenRevocationService.isRevoked(result)) {
+                result = VerifiedToken.rejected(TokenRejectReason.REVOKED);
+            }
+        }
+
+        (hit ? hitTimer : missTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
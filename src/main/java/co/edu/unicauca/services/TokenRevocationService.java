@@ -0,0 +1,190 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.entities.RevokedToken;
+import co.edu.unicauca.repositories.RevokedTokenRepository;
+import co.edu.unicauca.utilities.BloomFilter;
+import co.edu.unicauca.utilities.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revocación de tokens JWT.
+ *
+ * <p>Las revocaciones se guardan en la tabla {@code revoked_tokens} y se reflejan en un filtro
+ * de Bloom en memoria. El filtro JWT consulta primero el filtro de Bloom, que descarta sin tocar
+ * la base de datos casi todos los tokens no revocados; solo las coincidencias positivas (tokens
+ * revocados o falsos positivos) se confirman contra la tabla, y el resultado se guarda brevemente.</p>
+ *
+ * <p>Cada {@code jwt.revocationSyncMs} milisegundos se eliminan las entradas cuyos tokens ya
+ * expiraron y se reconstruye el filtro desde la tabla, lo que además incorpora las revocaciones
+ * hechas por otras instancias del servicio.</p>
+ *
+ * <p>Una revocación se refleja en memoria solo cuando su transacción confirma, para que una revocación
+ * revertida no rechace tokens. Ese paso y el reemplazo del filtro durante la reconstrucción se
+ * sincronizan, de modo que una revocación concurrente no se pierde con el filtro anterior.</p>
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final String ACCOUNT_PREFIX = "acct:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Duration accessTokenValidity;
+
+    // Resultado confirmado en la base de datos para claves que pasaron el filtro de Bloom
+    private final Cache<String, Optional<Instant>> confirmed;
+
+    // Revocaciones confirmadas por esta instancia; se conservan al reconstruir el filtro por si se
+    // confirmaron después de la lectura de la tabla
+    private final Map<String, Instant> localRevocations = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.expirationMs}") long accessTokenValidityMs,
+                                  @Value("${jwt.revocationFilterExpectedEntries:100000}") long expectedEntries,
+                                  @Value("${jwt.revocationFilterFpp:0.01}") double falsePositiveRate,
+                                  @Value("${jwt.revocationSyncMs:30000}") long syncMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.accessTokenValidity = Duration.ofMillis(accessTokenValidityMs);
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(syncMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, confirmed, "revocation.confirmed");
+        this.filter = buildFilter(revokedTokenRepository.findActiveKeys(Instant.now()));
+    }
+
+    /**
+     * Indica si un token válido fue revocado, ya sea individualmente (logout) o porque
+     * su cuenta fue deshabilitada después de emitirlo.
+     *
+     * @param token resultado válido de {@code JwtUtils.verify}
+     * @return {@code true} si el token no debe aceptarse
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.tokenId() != null && lookup(token.tokenId()).isPresent()) {
+            return true;
+        }
+        Optional<Instant> accountRevokedAt = lookup(ACCOUNT_PREFIX + token.accountId());
+        return accountRevokedAt.isPresent()
+                && (token.issuedAt() == null || !token.issuedAt().isAfter(accountRevokedAt.get()));
+    }
+
+    /**
+     * Revoca un token individual hasta su expiración.
+     *
+     * @param tokenId claim {@code jti} del token
+     * @param expiresAt expiración del token
+     */
+    @Transactional
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        store(new RevokedToken(tokenId, Instant.now(), expiresAt));
+    }
+
+    /**
+     * Revoca todos los tokens de acceso emitidos hasta ahora para una cuenta.
+     *
+     * @param accountId ID de la cuenta
+     */
+    @Transactional
+    public void revokeAccount(Long accountId) {
+        Instant now = Instant.now();
+        store(new RevokedToken(ACCOUNT_PREFIX + accountId, now, now.plus(accessTokenValidity)));
+    }
+
+    /**
+     * Vuelve a aceptar los tokens emitidos para una cuenta a partir de este momento.
+     *
+     * <p>No elimina la revocación de la cuenta: la mueve al instante de la rehabilitación, de modo que
+     * los tokens emitidos antes de deshabilitarla (incluidos los que pudieron ser robados) siguen
+     * rechazados y solo se aceptan los de logins nuevos. Como el claim {@code iat} tiene precisión de
+     * segundos, el corte se fija al final del segundo anterior para no rechazar un login inmediato.</p>
+     *
+     * @param accountId ID de la cuenta
+     */
+    @Transactional
+    public void reinstateAccount(Long accountId) {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusMillis(1);
+        store(new RevokedToken(ACCOUNT_PREFIX + accountId, cutoff, cutoff.plus(accessTokenValidity)));
+    }
+
+    /**
+     * Elimina las revocaciones vencidas y reconstruye el filtro de Bloom desde la tabla.
+     */
+    @Scheduled(initialDelayString = "${jwt.revocationSyncMs:30000}", fixedDelayString = "${jwt.revocationSyncMs:30000}")
+    @Transactional
+    public void sync() {
+        Instant now = Instant.now();
+        int pruned = revokedTokenRepository.deleteExpired(now);
+        replaceFilter(revokedTokenRepository.findActiveKeys(now), now);
+        if (pruned > 0) {
+            Logger.info(getClass(), "Revocaciones vencidas eliminadas: {}", pruned);
+        }
+    }
+
+    private void store(RevokedToken entry) {
+        revokedTokenRepository.save(entry);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(entry);
+                }
+            });
+        } else {
+            apply(entry);
+        }
+    }
+
+    private synchronized void apply(RevokedToken entry) {
+        localRevocations.put(entry.getKey(), entry.getExpiresAt());
+        filter.add(entry.getKey());
+        confirmed.put(entry.getKey(), Optional.of(entry.getRevokedAt()));
+    }
+
+    private synchronized void replaceFilter(List<String> keys, Instant now) {
+        localRevocations.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        filter = buildFilter(keys);
+        confirmed.invalidateAll();
+    }
+
+    private Optional<Instant> lookup(String key) {
+        if (!filter.mightContain(key)) {
+            return Optional.empty();
+        }
+        return confirmed.get(key, k -> revokedTokenRepository.findById(k)
+                .filter(entry -> entry.getExpiresAt().isAfter(Instant.now()))
+                .map(RevokedToken::getRevokedAt));
+    }
+
+    private BloomFilter buildFilter(List<String> keys) {
+        BloomFilter bloomFilter = new BloomFilter(Math.max(expectedEntries, keys.size() * 2L), falsePositiveRate);
+        keys.forEach(bloomFilter::add);
+        localRevocations.keySet().forEach(bloomFilter::add);
+        return bloomFilter;
+    }
+}
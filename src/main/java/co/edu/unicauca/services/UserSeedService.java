@@ -0,0 +1,228 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.config.BeansConfig;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.repositories.AccountIdView;
+import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.utilities.Logger;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carga masiva de usuarios iniciales desde un archivo CSV o JSON.
+ *
+ * <p>Reemplaza el registro uno a uno por HTTP: los usuarios se insertan directamente con JPA en lotes
+ * de {@code seed.batchSize}, cada lote en su propia transacción, con una sola consulta por lote para
+ * descartar los correos que ya existen. Después de cada lote se vacía el contexto de persistencia para
+ * que la memoria no crezca con el número de usuarios.</p>
+ *
+ * <p>Las contraseñas del archivo pueden venir ya codificadas con el prefijo {@code {id}} de uno de los
+ * algoritmos del codificador ({@link BeansConfig#PASSWORD_ENCODER_IDS}, por ejemplo
+ * {@code {bcrypt}$2a$10$...}), que se guardan tal cual, o en texto plano; en ese caso cada contraseña
+ * distinta se codifica una sola vez. Los usuarios sintéticos ({@code seed.syntheticUsers}) comparten
+ * contraseña, por lo que generar decenas de miles de cuentas cuesta un único hash.</p>
+ */
+@Service
+public class UserSeedService {
+
+    /** Usuario a insertar. */
+    public record SeedUser(String email, String password, String names, String lastNames, Set<Role> roles) {}
+
+    /** Resultado de una carga: usuarios insertados y omitidos por existir previamente. */
+    public record SeedResult(int inserted, int skipped) {}
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final AccountRepository accountRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserSeedService(ResourceLoader resourceLoader,
+                           ObjectMapper objectMapper,
+                           AccountRepository accountRepository,
+                           PasswordEncoder passwordEncoder,
+                           EntityManager entityManager,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${seed.batchSize:500}") int batchSize) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.accountRepository = accountRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Carga los usuarios del archivo indicado más los usuarios sintéticos solicitados.
+     *
+     * @param location ubicación del archivo ({@code classpath:...} o {@code file:...}, extensión {@code .csv}
+     *                 o {@code .json}); vacía para no leer archivo
+     * @param syntheticUsers cantidad de estudiantes sintéticos a generar
+     * @param syntheticPassword contraseña de los estudiantes sintéticos
+     * @return usuarios insertados y omitidos
+     * @throws IOException si el archivo no se puede leer
+     */
+    public SeedResult seed(String location, int syntheticUsers, String syntheticPassword) throws IOException {
+        long start = System.nanoTime();
+        List<SeedUser> users = new ArrayList<>();
+        if (location != null && !location.isBlank()) {
+            users.addAll(read(resourceLoader.getResource(location)));
+        }
+        users.addAll(synthetic(syntheticUsers, syntheticPassword));
+
+        SeedResult result = insert(users);
+        Logger.success(getClass(), "Datos iniciales cargados: {} insertados, {} existentes, en {} ms",
+                result.inserted(), result.skipped(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Inserta los usuarios en lotes, omitiendo los correos que ya existen o están repetidos.
+     *
+     * @param users usuarios a insertar
+     * @return usuarios insertados y omitidos
+     */
+    public SeedResult insert(List<SeedUser> users) {
+        // Los correos se guardan normalizados, como en el registro por la API
+        Map<String, SeedUser> byEmail = new LinkedHashMap<>();
+        for (SeedUser user : users) {
+            String email = AccountService.normalizeEmail(user.email());
+            byEmail.putIfAbsent(email, new SeedUser(email, user.password(), user.names(), user.lastNames(), user.roles()));
+        }
+        List<SeedUser> distinct = new ArrayList<>(byEmail.values());
+        Map<String, String> encodedPasswords = new HashMap<>();
+
+        int inserted = 0;
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            List<SeedUser> batch = distinct.subList(from, Math.min(from + batchSize, distinct.size()));
+            inserted += insertBatch(batch, encodedPasswords);
+        }
+        return new SeedResult(inserted, users.size() - inserted);
+    }
+
+    private int insertBatch(List<SeedUser> batch, Map<String, String> encodedPasswords) {
+        List<String> emails = batch.stream().map(SeedUser::email).toList();
+        Set<String> existing = new HashSet<>();
+        for (AccountIdView row : accountRepository.findIdsByEmailIn(emails)) {
+            existing.add(row.getEmail());
+        }
+
+        List<User> pending = new ArrayList<>(batch.size());
+        for (SeedUser seedUser : batch) {
+            if (!existing.contains(seedUser.email())) {
+                pending.add(toUser(seedUser, encodedPasswords));
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pending.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return pending.size();
+    }
+
+    private User toUser(SeedUser seedUser, Map<String, String> encodedPasswords) {
+        Account account = new Account();
+        account.setEmail(seedUser.email());
+        account.setPassword(isEncoded(seedUser.password())
+                ? seedUser.password()
+                : encodedPasswords.computeIfAbsent(seedUser.password(), passwordEncoder::encode));
+        account.setRoles(seedUser.roles());
+
+        User user = new User();
+        user.setNames(seedUser.names());
+        user.setLastNames(seedUser.lastNames());
+        user.setAccount(account);
+        account.setUser(user);
+        return user;
+    }
+
+    /**
+     * Indica si la contraseña ya está codificada: empieza con {@code {id}} de un algoritmo conocido y
+     * sigue un hash. Una contraseña en texto plano que empieza con otra cosa entre llaves se codifica.
+     */
+    private static boolean isEncoded(String password) {
+        int end = password.indexOf('}');
+        return password.startsWith("{") && end > 1 && end < password.length() - 1
+                && BeansConfig.PASSWORD_ENCODER_IDS.contains(password.substring(1, end));
+    }
+
+    private List<SeedUser> read(Resource resource) throws IOException {
+        String name = resource.getFilename() == null ? "" : resource.getFilename().toLowerCase();
+        try (InputStream in = resource.getInputStream()) {
+            if (name.endsWith(".json")) {
+                return objectMapper.readValue(in, new TypeReference<List<SeedUser>>() {});
+            }
+            return readCsv(in);
+        }
+    }
+
+    /**
+     * Lee líneas {@code email,password,names,lastNames,roles}; los roles se separan con {@code |}.
+     * Se ignoran las líneas vacías, los comentarios ({@code #}) y la cabecera.
+     */
+    private static List<SeedUser> readCsv(InputStream in) throws IOException {
+        List<SeedUser> users = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("email,")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 5) {
+                throw new IOException("Línea " + lineNumber + " del archivo de usuarios: se esperaban 5 columnas");
+            }
+            Set<Role> roles = EnumSet.noneOf(Role.class);
+            for (String role : fields[4].split("\\|")) {
+                if (!role.isBlank()) {
+                    roles.add(Role.valueOf(role.strip().toUpperCase()));
+                }
+            }
+            users.add(new SeedUser(fields[0].strip(), fields[1].strip(), fields[2].strip(), fields[3].strip(), roles));
+        }
+        return users;
+    }
+
+    private static List<SeedUser> synthetic(int count, String password) {
+        List<SeedUser> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new SeedUser("student" + i + "@seed.unicauca.edu.co", password,
+                    "Estudiante", String.valueOf(i), EnumSet.of(Role.STUDENT)));
+        }
+        return users;
+    }
+}
@@ -1,16 +1,37 @@
 package co.edu.unicauca.services;
 
+import co.edu.unicauca.dtos.BulkRegisterResponseDTO;
+import co.edu.unicauca.dtos.BulkRegisterResultDTO;
+import co.edu.unicauca.dtos.BulkRegisterResultDTO.Status;
+import co.edu.unicauca.dtos.UserPageDTO;
 import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.dtos.UserSummaryDTO;
 import co.edu.unicauca.entities.Account;
 import co.edu.unicauca.entities.User;
 import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.events.AccountChangedEvent;
+import co.edu.unicauca.repositories.AccountIdView;
 import co.edu.unicauca.repositories.UserRepository;
+import co.edu.unicauca.repositories.UserSummaryView;
 import co.edu.unicauca.utilities.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
@@ -21,9 +42,27 @@ public class UserService {
     @Autowired
     private AccountService _accountService;
 
+    @Autowired
+    private ApplicationEventPublisher _eventPublisher;
+
+    @Autowired
+    private PasswordHashingExecutor _passwordHashingExecutor;
+
+    @Autowired
+    private TransactionTemplate _transactionTemplate;
+
+    // Cantidad máxima de usuarios por página en los listados
+    @Value("${users.pageMaxSize:1000}")
+    private int pageMaxSize;
+
+    // Usuarios por transacción en el registro masivo
+    @Value("${users.bulkChunkSize:100}")
+    private int bulkChunkSize;
+
     /**
      * Registra un nuevo usuario en el sistema, validando su correo,
      * codificando su contraseña y asignando los roles proporcionados.
+     * El correo se guarda normalizado ({@link AccountService#normalizeEmail}).
      */
     @Transactional
     public User userRegister(UserRegisterDTO dto) {
@@ -32,6 +71,7 @@ public class UserService {
 
         user.setAccount(account);
         account.setUser(user);
+        account.setEmail(AccountService.normalizeEmail(account.getEmail()));
         _accountService.validateEmailNotExists(account.getEmail());
         _accountService.prepareAccountForRegistration(account);
 
@@ -39,10 +79,213 @@ public class UserService {
             account.setRoles(new HashSet<>(dto.getRoles()));
         }
         User savedUser = _userRepository.save(user);
+        _eventPublisher.publishEvent(new AccountChangedEvent(account.getIdAccount(), account.getEmail()));
 
-        Logger.success(getClass(), "Usuario registrado con éxito. ID: " +
-                savedUser.getIdUser() + " - Roles: " + account.getRoles());
+        Logger.success(getClass(), "Usuario registrado con éxito. ID: {} - Roles: {}",
+                savedUser.getIdUser(), account.getRoles());
 
         return savedUser;
     }
+
+    /**
+     * Registra varios usuarios en una sola operación, reportando el resultado de cada uno.
+     *
+     * <p>Los correos de toda la solicitud se comprueban con una sola consulta, las contraseñas se
+     * codifican en paralelo en el pool de hashing y las inserciones se envían en lotes JDBC, cada lote de
+     * {@code users.bulkChunkSize} usuarios en su propia transacción (los IDs salen de secuencias con
+     * asignación por bloques). Si un lote falla por una restricción de la base de datos (por ejemplo, un
+     * registro concurrente con el mismo correo), se reintenta usuario por usuario para que solo el que
+     * la viola quede como {@code FAILED}. Los usuarios inválidos o con correo repetido se reportan sin
+     * impedir el registro de los demás.</p>
+     *
+     * <p>Los correos se normalizan ({@link AccountService#normalizeEmail}) antes de compararlos, de
+     * buscarlos y de guardarlos, por lo que {@code Foo@x} es un duplicado de {@code foo@x} tanto dentro
+     * de la solicitud como frente a los ya registrados, y los resultados reportan el correo normalizado.</p>
+     *
+     * @param requests usuarios a registrar
+     * @return resultado de cada usuario, en el orden de la solicitud
+     * @throws IllegalArgumentException si la solicitud supera {@code auth.batchMaxSize} usuarios
+     */
+    public BulkRegisterResponseDTO bulkRegister(List<UserRegisterDTO> requests) {
+        _accountService.validateBatchSize(requests.size());
+
+        List<BulkRegisterResultDTO> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            UserRegisterDTO dto = requests.get(i);
+            String email = dto != null && dto.getAccount() != null ? dto.getAccount().getEmail() : null;
+            String error = validateRegistration(dto);
+            if (error != null) {
+                results.set(i, new BulkRegisterResultDTO(i, email, Status.INVALID, error));
+                continue;
+            }
+            email = AccountService.normalizeEmail(email);
+            dto.getAccount().setEmail(email);
+            if (candidates.putIfAbsent(email, i) != null) {
+                results.set(i, new BulkRegisterResultDTO(i, email, Status.DUPLICATE, "Email repeated in request"));
+            }
+        }
+
+        // Una sola consulta para todos los correos de la solicitud
+        for (AccountIdView existing : _accountService.getAccountIdsByEmails(candidates.keySet())) {
+            Integer index = candidates.remove(existing.getEmail());
+            if (index == null) {
+                continue;
+            }
+            results.set(index, new BulkRegisterResultDTO(index, requests.get(index).getAccount().getEmail(),
+                    Status.DUPLICATE, "Email already in use"));
+        }
+
+        List<Integer> indexes = new ArrayList<>(candidates.values());
+        List<String> rawPasswords = indexes.stream()
+                .map(i -> requests.get(i).getAccount().getPassword())
+                .toList();
+        List<String> encodedPasswords = _passwordHashingExecutor.mapAll(rawPasswords, _accountService::encodePassword);
+
+        List<User> users = new ArrayList<>(indexes.size());
+        for (int j = 0; j < indexes.size(); j++) {
+            UserRegisterDTO dto = requests.get(indexes.get(j));
+            User user = dto.getUser();
+            Account account = dto.getAccount();
+            user.setAccount(account);
+            account.setUser(user);
+            account.setPassword(encodedPasswords.get(j));
+            if (dto.getRoles() != null && !dto.getRoles().isEmpty()) {
+                account.setRoles(new HashSet<>(dto.getRoles()));
+            }
+            users.add(user);
+        }
+
+        int created = 0;
+        for (int from = 0; from < users.size(); from += bulkChunkSize) {
+            int to = Math.min(from + bulkChunkSize, users.size());
+            List<User> chunk = users.subList(from, to);
+            try {
+                _transactionTemplate.executeWithoutResult(status -> _userRepository.saveAll(chunk));
+            } catch (DataIntegrityViolationException e) {
+                // La transacción del lote se revirtió; se reintenta cada usuario para aislar el que falla
+                Logger.warn(getClass(), "Lote del registro masivo revertido por conflicto, reintentando por usuario: {}",
+                        e.getMostSpecificCause().getMessage());
+                for (int j = from; j < to; j++) {
+                    created += saveOne(users.get(j), indexes.get(j), results) ? 1 : 0;
+                }
+                continue;
+            }
+            for (int j = from; j < to; j++) {
+                markCreated(users.get(j), indexes.get(j), results);
+            }
+            created += chunk.size();
+        }
+
+        Logger.success(getClass(), "Registro masivo: {} creados de {}", created, requests.size());
+        return new BulkRegisterResponseDTO(results, created, requests.size() - created);
+    }
+
+    /**
+     * Lista usuarios ordenados por ID con paginación por clave: cada página empieza después del último
+     * ID de la anterior, por lo que el costo no crece con la profundidad como con {@code OFFSET}.
+     *
+     * @param role rol por el que filtrar, o {@code null} para todos los usuarios
+     * @param after ID del último usuario de la página anterior, o {@code null} para la primera página
+     * @param size cantidad máxima de usuarios en la página
+     * @return usuarios de la página y cursor de la siguiente
+     * @throws IllegalArgumentException si {@code size} está fuera de {@code 1..users.pageMaxSize}
+     */
+    @Transactional(readOnly = true)
+    public UserPageDTO listUsers(Role role, Long after, int size) {
+        if (size < 1 || size > pageMaxSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + pageMaxSize);
+        }
+        List<UserSummaryDTO> items = _userRepository
+                .findPageAfter(after == null ? 0L : after, roleMask(role), Limit.of(size))
+                .stream()
+                .map(UserSummaryDTO::from)
+                .toList();
+        Long nextCursor = items.size() == size ? items.get(items.size() - 1).getId() : null;
+        return new UserPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Recorre todos los usuarios (o los que tienen el rol indicado) en orden de ID, entregándolos uno a
+     * uno a {@code consumer}. La consulta usa un cursor que lee de a 500 filas, por lo que la
+     * memoria no depende de la cantidad de usuarios.
+     *
+     * @param role rol por el que filtrar, o {@code null} para todos los usuarios
+     * @param consumer receptor de cada usuario
+     * @return cantidad de usuarios recorridos
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(Role role, Consumer<UserSummaryView> consumer) {
+        long count = 0;
+        try (Stream<UserSummaryView> users = _userRepository.streamAll(roleMask(role))) {
+            Iterator<UserSummaryView> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        Logger.info(getClass(), "Exportación de usuarios: {} registros", count);
+        return count;
+    }
+
+    /**
+     * Guarda un usuario del registro masivo en su propia transacción.
+     *
+     * @return {@code true} si se guardó; {@code false} si violó una restricción de la base de datos
+     */
+    private boolean saveOne(User user, int index, List<BulkRegisterResultDTO> results) {
+        Account account = user.getAccount();
+        // Los IDs asignados en la transacción revertida no existen; sin ellos el usuario se vuelve a insertar
+        user.setIdUser(null);
+        account.setIdAccount(null);
+        try {
+            _transactionTemplate.executeWithoutResult(status -> _userRepository.save(user));
+        } catch (DataIntegrityViolationException e) {
+            Logger.warn(getClass(), "Registro masivo: no se pudo guardar {}: {}",
+                    Logger.maskEmail(account.getEmail()), e.getMostSpecificCause().getMessage());
+            results.set(index, new BulkRegisterResultDTO(index, account.getEmail(), Status.FAILED,
+                    "Conflict while saving, retry the request"));
+            return false;
+        }
+        markCreated(user, index, results);
+        return true;
+    }
+
+    private void markCreated(User user, int index, List<BulkRegisterResultDTO> results) {
+        Account account = user.getAccount();
+        BulkRegisterResultDTO result = new BulkRegisterResultDTO(index, account.getEmail(), Status.CREATED, null);
+        result.setIdUser(user.getIdUser());
+        result.setIdAccount(account.getIdAccount());
+        results.set(index, result);
+        _eventPublisher.publishEvent(new AccountChangedEvent(account.getIdAccount(), account.getEmail()));
+    }
+
+    private static int roleMask(Role role) {
+        return role == null ? 0 : role.bit();
+    }
+
+    /**
+     * Valida los datos mínimos de un registro.
+     *
+     * @return mensaje de error, o {@code null} si el registro es válido
+     */
+    private static String validateRegistration(UserRegisterDTO dto) {
+        if (dto == null || dto.getUser() == null || dto.getAccount() == null) {
+            return "user and account are required";
+        }
+        if (isBlank(dto.getAccount().getEmail())) {
+            return "email is required";
+        }
+        if (isBlank(dto.getAccount().getPassword())) {
+            return "password is required";
+        }
+        if (isBlank(dto.getUser().getNames()) || isBlank(dto.getUser().getLastNames())) {
+            return "names and lastNames are required";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
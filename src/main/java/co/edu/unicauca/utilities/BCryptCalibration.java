@@ -0,0 +1,41 @@
+package co.edu.unicauca.utilities;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Calcula el costo (strength) de BCrypt adecuado para el equipo donde se ejecuta el servicio.
+ *
+ * <p>Mide el tiempo de un hash con un costo bajo y, como cada incremento del costo duplica el
+ * trabajo, extrapola el mayor costo cuyo hash no supera la latencia objetivo. El resultado
+ * nunca es menor que {@link #MIN_STRENGTH} (el valor por defecto de Spring Security).</p>
+ */
+public final class BCryptCalibration {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_ROUNDS = 3;
+
+    private BCryptCalibration() {}
+
+    /**
+     * @param targetMs latencia objetivo de un hash en milisegundos
+     * @return costo de BCrypt entre {@link #MIN_STRENGTH} y {@link #MAX_STRENGTH}
+     */
+    public static int strengthFor(long targetMs) {
+        String salt = BCrypt.gensalt(PROBE_STRENGTH);
+        BCrypt.hashpw("calibration", salt); // calentamiento
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double probeMs = Math.max(best / 1_000_000.0, 0.01);
+        int strength = PROBE_STRENGTH + (int) Math.floor(Math.log(targetMs / probeMs) / Math.log(2));
+        return Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, strength));
+    }
+}
@@ -0,0 +1,79 @@
+package co.edu.unicauca.utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para cadenas, seguro para hilos y sin bloqueos.
+ *
+ * <p>Responde si un elemento <em>podría</em> haber sido agregado: nunca da falsos negativos y
+ * da falsos positivos con una probabilidad cercana a la configurada mientras no se supere
+ * el número de elementos esperado. No permite eliminar elementos; para descartar entradas
+ * vencidas se construye un filtro nuevo.</p>
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedEntries número de elementos esperado
+     * @param falsePositiveRate probabilidad de falso positivo deseada (por ejemplo {@code 0.01})
+     */
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (m + 63) / 64 * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+    }
+
+    /**
+     * Agrega un elemento al filtro.
+     */
+    public void add(String value) {
+        long hash1 = fnv1a(value);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(index)) & mask) == 0
+                    && !bits.compareAndSet(index, current, current | mask)) {
+                // Otro hilo modificó la palabra; se reintenta con el valor actual
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} si el elemento seguro no fue agregado; {@code true} si podría haberlo sido
+     */
+    public boolean mightContain(String value) {
+        long hash1 = fnv1a(value);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,34 @@
+package co.edu.unicauca.utilities;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Hash de una contraseña aleatoria usado para verificar contraseñas de cuentas inexistentes.
+ *
+ * <p>Se calcula una sola vez al iniciar con el mismo {@link PasswordEncoder} que codifica las
+ * contraseñas reales, por lo que tiene su algoritmo y su costo (incluido el costo de BCrypt calibrado).
+ * Verificar una contraseña contra este hash tarda lo mismo que contra el de una cuenta real y nunca
+ * coincide: la contraseña original se descarta.</p>
+ */
+@Component
+public class DummyPasswordHash {
+
+    private final String hash;
+
+    public DummyPasswordHash(PasswordEncoder passwordEncoder) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.hash = passwordEncoder.encode(Base64.getEncoder().encodeToString(secret));
+    }
+
+    /**
+     * @return hash codificado, con el prefijo {@code {id}} del algoritmo
+     */
+    public String get() {
+        return hash;
+    }
+}
@@ -1,32 +1,77 @@
 package co.edu.unicauca.utilities;
 
 import co.edu.unicauca.authentication.AccountDetails;
-import co.edu.unicauca.entities.Account;
-import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.authentication.AccountSnapshot;
+import co.edu.unicauca.services.AccountCache;
+import co.edu.unicauca.enums.TokenRejectReason;
+import co.edu.unicauca.services.AccountRevocationChecker;
+import co.edu.unicauca.services.TokenRevocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filtro que intercepta cada solicitud HTTP para validar el token JWT.
  * Si el token es válido, se establece la autenticación en el contexto de seguridad.
+ *
+ * <p>Con {@code jwt.stateless=true} la identidad y los roles se toman directamente de los
+ * claims verificados del token, sin cargar la cuenta desde la base de datos.</p>
+ *
+ * <p>Los tokens revocados (logout o cuenta deshabilitada) se descartan consultando
+ * {@link TokenRevocationService}, que solo accede a la base de datos ante coincidencias
+ * de su filtro en memoria.</p>
+ *
+ * <p>Publica el timer {@code auth.jwt.verify} (verificación y revocación del token) y el contador
+ * {@code auth.jwt.rejected} con la etiqueta {@code reason} ({@link TokenRejectReason}).</p>
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final AccountRepository accountRepository;
-
-    public JwtAuthFilter(JwtUtils jwtUtils, AccountRepository accountRepository) {
+    private final AccountCache accountCache;
+    private final AccountRevocationChecker revocationChecker;
+    private final TokenRevocationService tokenRevocationService;
+    private final PublicRouteMatcher publicRoutes;
+    private final boolean stateless;
+    private final Timer verifyTimer;
+    private final Map<TokenRejectReason, Counter> rejections = new EnumMap<>(TokenRejectReason.class);
+
+    public JwtAuthFilter(JwtUtils jwtUtils, AccountCache accountCache,
+                         AccountRevocationChecker revocationChecker,
+                         TokenRevocationService tokenRevocationService,
+                         PublicRouteMatcher publicRoutes,
+                         MeterRegistry meterRegistry,
+                         @Value("${jwt.stateless:false}") boolean stateless) {
         this.jwtUtils = jwtUtils;
-        this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
+        this.revocationChecker = revocationChecker;
+        this.tokenRevocationService = tokenRevocationService;
+        this.publicRoutes = publicRoutes;
+        this.stateless = stateless;
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("Verificación del JWT de la petición: firma, claims y revocación")
+                .register(meterRegistry);
+        for (TokenRejectReason reason : TokenRejectReason.values()) {
+            rejections.put(reason, Counter.builder("auth.jwt.rejected")
+                    .description("Peticiones con JWT rechazado, por motivo")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
     }
 
     /**
@@ -37,13 +82,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
             throws ServletException, IOException {
 
+        // OncePerRequestFilter ya descartó las rutas públicas (shouldNotFilter) antes de llamar a este método
         String requestURI = req.getRequestURI();
 
-        if (shouldNotFilter(req)) {
-            chain.doFilter(req, res);
-            return;
-        }
-
         try {
             String header = req.getHeader("Authorization");
 
@@ -51,35 +92,66 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 String token = header.substring(7);
 
                 if (token.isEmpty()) {
-                    Logger.warn(getClass(), "JWT vacío en la solicitud a " + requestURI);
+                    rejections.get(TokenRejectReason.MISSING).increment();
+                    Logger.warn(getClass(), "JWT vacío en la solicitud a {}", requestURI);
                     chain.doFilter(req, res);
                     return;
                 }
 
-                Logger.info(getClass(), "JWT detectado en la solicitud a " + requestURI);
-
-                if (jwtUtils.validateJwtToken(token)) {
-                    Long accountId = jwtUtils.getAccountIdFromJwtToken(token);
-
-                    Account account = accountRepository.findById(accountId)
-                            .orElseThrow(() -> new RuntimeException("Cuenta no encontrada con ID: " + accountId));
+                Logger.info(getClass(), "JWT detectado en la solicitud a {}", requestURI);
+
+                long start = System.nanoTime();
+                VerifiedToken verified = jwtUtils.verify(token);
+                boolean revoked = verified.isValid() && tokenRevocationService.isRevoked(verified);
+                verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                if (revoked) {
+                    rejections.get(TokenRejectReason.REVOKED).increment();
+                    Logger.warn(getClass(), "JWT inválido ({}) para la solicitud a {}",
+                            TokenRejectReason.REVOKED, requestURI);
+                } else if (verified.isValid()) {
+                    Long accountId = verified.accountId();
+
+                    AccountDetails accountDetails;
+                    if (stateless) {
+                        if (revocationChecker.isRevoked(accountId)) {
+                            rejections.get(TokenRejectReason.ACCOUNT_UNAVAILABLE).increment();
+                            Logger.warn(getClass(), "Cuenta revocada con ID: {}", accountId);
+                            chain.doFilter(req, res);
+                            return;
+                        }
+                        accountDetails = AccountDetails.fromVerifiedToken(verified);
+                    } else {
+                        AccountSnapshot account = accountCache.findById(accountId)
+                                .filter(AccountSnapshot::enabled)
+                                .orElse(null);
+                        if (account == null) {
+                            rejections.get(TokenRejectReason.ACCOUNT_UNAVAILABLE).increment();
+                            Logger.warn(getClass(), "Cuenta no encontrada o deshabilitada con ID: {}", accountId);
+                            chain.doFilter(req, res);
+                            return;
+                        }
+                        accountDetails = new AccountDetails(account.toAccount());
+                    }
 
-                    AccountDetails accountDetails = new AccountDetails(account);
                     UsernamePasswordAuthenticationToken auth =
                             new UsernamePasswordAuthenticationToken(
                                     accountDetails, null, accountDetails.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(auth);
 
-                    Logger.success(getClass(), "Autenticación establecida para: " + account.getEmail());
+                    Logger.success(getClass(), "Autenticación establecida para la cuenta {}", accountId);
                 } else {
-                    Logger.warn(getClass(), "JWT inválido para la solicitud a " + requestURI);
+                    rejections.get(verified.rejectReason()).increment();
+                    Logger.warn(getClass(), "JWT inválido ({}) para la solicitud a {}",
+                            verified.rejectReason(), requestURI);
                 }
             } else {
-                Logger.warn(getClass(), "No se encontró JWT en la solicitud a " + requestURI);
+                rejections.get(TokenRejectReason.MISSING).increment();
+                Logger.warn(getClass(), "No se encontró JWT en la solicitud a {}", requestURI);
             }
 
         } catch (Exception e) {
-            Logger.error(getClass(), "Error al procesar autenticación: " + e.getMessage());
+            Logger.error(getClass(), "Error al procesar autenticación: {}", e.getMessage());
         }
 
         chain.doFilter(req, res);
@@ -87,21 +159,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
 
     /**
-     * Define las rutas que no requieren filtrado JWT (públicas o estáticas).
+     * Las rutas públicas ({@link PublicRouteMatcher}, las mismas que {@code SecurityConfig} permite sin
+     * autenticación) no requieren filtrado JWT.
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-
-        return path.startsWith("/auth/") ||
-                path.startsWith("/h2-console") ||
-                path.equals("/favicon.ico") ||
-                path.startsWith("/degreework/create") ||
-                path.endsWith(".css") ||
-                path.endsWith(".js") ||
-                path.endsWith(".gif") ||
-                path.endsWith(".png") ||
-                path.endsWith(".jpg") ||
-                path.endsWith(".ico");
+        return publicRoutes.matches(request);
     }
 }
@@ -0,0 +1,326 @@
+package co.edu.unicauca.utilities;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anillo de claves usado para firmar y verificar los tokens JWT.
+ *
+ * <p>Las claves se construyen una sola vez (al iniciar la aplicación o al rotar) y se
+ * identifican con un {@code kid} que viaja en la cabecera del token. De esta forma es
+ * posible rotar la clave sin reiniciar el servicio: la clave nueva firma los tokens
+ * emitidos a partir de ese momento y las anteriores siguen verificando los tokens vigentes.</p>
+ *
+ * <p>Con {@code jwt.algorithm=RS256} los tokens se firman con una clave privada RSA y las claves
+ * públicas se publican como JWKS ({@link #jwks()}), de modo que otros servicios verifican los tokens
+ * sin compartir secretos. El par de claves se lee de {@code jwt.rsa.privateKey} (PKCS#8, PEM o Base64),
+ * de modo que todas las réplicas firman con la misma clave y los tokens sobreviven a los reinicios.
+ * Solo con {@code jwt.rsa.generateKeys=true} (perfil {@code dev}) se admite generar el par al iniciar;
+ * en ese caso cada instancia tiene su propia clave y se rota cada {@code jwt.rotationIntervalMs}.
+ * La clave reemplazada sigue publicada y aceptada hasta que expiran los tokens que firmó. Con
+ * {@code jwt.algorithm=HS256} se mantiene el secreto compartido {@code jwt.secret}. Si falta la clave
+ * de firma del algoritmo configurado, la aplicación no inicia. Las claves HMAC de {@code jwt.previousKeys} se aceptan en ambos modos para migrar
+ * sin invalidar las sesiones activas.</p>
+ *
+ * <p>El estado es inmutable y se reemplaza de forma atómica, por lo que las lecturas
+ * (una por cada petición autenticada) no requieren sincronización.</p>
+ */
+@Component
+public class JwtKeyRing {
+
+    /** Clave activa junto con su identificador y algoritmo de firma. */
+    public record SigningKey(String kid, Key key, SignatureAlgorithm algorithm) {}
+
+    /** Documento JWKS ya serializado y su ETag. */
+    public record Jwks(String json, String etag) {}
+
+    /** Clave de verificación; las claves reemplazadas por una rotación tienen fecha de retiro. */
+    private record VerificationKey(Key key, Instant retireAt) {}
+
+    /** Instantánea inmutable del anillo de claves. */
+    private record State(SigningKey active, Instant activatedAt, Map<String, VerificationKey> verificationKeys,
+                         Jwks jwks) {}
+
+    private static final int RSA_KEY_SIZE = 2048;
+
+    // Margen para tokens emitidos justo antes de la rotación y diferencias de reloj
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final Duration rotationInterval;
+    private final Duration overlap;
+    private final boolean generatedKeys;
+
+    private volatile State state;
+
+    /**
+     * @param secret secreto HMAC activo ({@code jwt.secret}), usado con {@code HS256}
+     * @param keyId identificador de la clave activa ({@code jwt.keyId}); las claves RSA generadas usan uno propio
+     * @param previousKeys claves HMAC anteriores aún válidas para verificar, con formato {@code kid:secreto}
+     * @param algorithm algoritmo de firma ({@code HS256} o {@code RS256})
+     * @param rsaPrivateKey clave privada RSA en PKCS#8, usada con {@code RS256}
+     * @param generateKeys si se permite generar un par de claves RSA propio de la instancia cuando
+     *                     {@code rsaPrivateKey} está vacía (solo para desarrollo)
+     * @param rotationIntervalMs periodo de rotación de las claves RSA generadas (0 = sin rotación)
+     * @param expirationMs duración de los tokens de acceso, usada como solapamiento al rotar
+     * @throws IllegalStateException si no hay clave de firma configurada para el algoritmo
+     */
+    public JwtKeyRing(@Value("${jwt.secret:}") String secret,
+                      @Value("${jwt.keyId:k1}") String keyId,
+                      @Value("${jwt.previousKeys:}") List<String> previousKeys,
+                      @Value("${jwt.algorithm:HS256}") SignatureAlgorithm algorithm,
+                      @Value("${jwt.rsa.privateKey:}") String rsaPrivateKey,
+                      @Value("${jwt.rsa.generateKeys:false}") boolean generateKeys,
+                      @Value("${jwt.rotationIntervalMs:0}") long rotationIntervalMs,
+                      @Value("${jwt.expirationMs}") long expirationMs) {
+        Map<String, VerificationKey> keys = new LinkedHashMap<>();
+        for (String entry : previousKeys) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Formato inválido en jwt.previousKeys, se esperaba kid:secreto");
+            }
+            keys.put(entry.substring(0, separator).trim(),
+                    new VerificationKey(hmacKey(entry.substring(separator + 1).trim()), null));
+        }
+
+        SigningKey active;
+        if (algorithm == SignatureAlgorithm.HS256) {
+            if (secret.isBlank()) {
+                throw new IllegalStateException("jwt.algorithm=HS256 requiere jwt.secret (variable JWT_SECRET)");
+            }
+            active = new SigningKey(keyId, hmacKey(secret), algorithm);
+            keys.put(keyId, new VerificationKey(active.key(), null));
+            this.generatedKeys = false;
+        } else if (algorithm == SignatureAlgorithm.RS256) {
+            if (rsaPrivateKey.isBlank() && !generateKeys) {
+                throw new IllegalStateException("jwt.algorithm=RS256 requiere jwt.rsa.privateKey (variable "
+                        + "JWT_RSA_PRIVATE_KEY); generar claves por instancia solo se permite con el perfil dev");
+            }
+            this.generatedKeys = rsaPrivateKey.isBlank();
+            KeyPair keyPair = generatedKeys ? generateRsaKeyPair() : parseRsaKeyPair(rsaPrivateKey);
+            // Las claves generadas reciben un kid nuevo para que los consumidores no confundan
+            // la clave de un arranque anterior con la actual
+            String kid = generatedKeys ? newKid() : keyId;
+            if (generatedKeys) {
+                Logger.warn(getClass(), "Claves JWT generadas para esta instancia (kid {}); los tokens no serán "
+                        + "válidos en otras réplicas ni tras reiniciar", kid);
+            }
+            active = new SigningKey(kid, keyPair.getPrivate(), algorithm);
+            keys.put(kid, new VerificationKey(keyPair.getPublic(), null));
+        } else {
+            throw new IllegalArgumentException("Algoritmo JWT no soportado: " + algorithm);
+        }
+
+        this.rotationInterval = Duration.ofMillis(rotationIntervalMs);
+        this.overlap = Duration.ofMillis(expirationMs).plus(CLOCK_SKEW);
+        this.state = newState(active, Instant.now(), keys);
+    }
+
+    /**
+     * Devuelve la clave con la que se firman los tokens nuevos.
+     *
+     * @return clave activa, su {@code kid} y su algoritmo
+     */
+    public SigningKey activeKey() {
+        return state.active();
+    }
+
+    /**
+     * Busca la clave de verificación correspondiente a un {@code kid}.
+     * Los tokens emitidos sin {@code kid} se verifican con la clave activa.
+     *
+     * @param kid identificador presente en la cabecera del token (puede ser {@code null})
+     * @return clave de verificación o {@code null} si el identificador no es conocido
+     */
+    public Key verificationKey(String kid) {
+        State current = state;
+        VerificationKey key = current.verificationKeys().get(kid == null ? current.active().kid() : kid);
+        return key == null ? null : key.key();
+    }
+
+    /**
+     * Devuelve las claves públicas vigentes como documento JWKS (RFC 7517). Las claves HMAC
+     * nunca se publican; en modo {@code HS256} el documento no contiene claves.
+     *
+     * @return documento JWKS serializado y su ETag, recalculados solo al cambiar las claves
+     */
+    public Jwks jwks() {
+        return state.jwks();
+    }
+
+    /**
+     * Activa un nuevo secreto para la firma de tokens. La clave anterior se conserva
+     * para verificar los tokens que aún no han expirado.
+     *
+     * @param kid identificador de la nueva clave
+     * @param secret secreto HMAC de al menos 256 bits
+     */
+    public synchronized void rotate(String kid, String secret) {
+        activate(new SigningKey(kid, hmacKey(secret), SignatureAlgorithm.HS256), null);
+    }
+
+    /**
+     * Genera un nuevo par de claves RSA y lo activa. La clave pública anterior sigue publicada
+     * y aceptada durante la vigencia de los tokens que firmó.
+     *
+     * @return identificador de la nueva clave
+     */
+    public synchronized String rotateKeyPair() {
+        KeyPair keyPair = generateRsaKeyPair();
+        String kid = newKid();
+        activate(new SigningKey(kid, keyPair.getPrivate(), SignatureAlgorithm.RS256), keyPair.getPublic());
+        return kid;
+    }
+
+    /**
+     * Retira una clave anterior; los tokens firmados con ella dejan de ser válidos.
+     *
+     * @param kid identificador de la clave a retirar
+     * @throws IllegalArgumentException si se intenta retirar la clave activa
+     */
+    public synchronized void retire(String kid) {
+        State current = state;
+        if (current.active().kid().equals(kid)) {
+            throw new IllegalArgumentException("No se puede retirar la clave activa: " + kid);
+        }
+        Map<String, VerificationKey> keys = new LinkedHashMap<>(current.verificationKeys());
+        keys.remove(kid);
+        state = newState(current.active(), current.activatedAt(), keys);
+    }
+
+    /**
+     * Rota las claves RSA generadas cuando cumplen {@code jwt.rotationIntervalMs} y retira las
+     * claves anteriores cuyo periodo de solapamiento terminó.
+     */
+    @Scheduled(fixedDelayString = "${jwt.rotationCheckMs:60000}")
+    public synchronized void rotateIfDue() {
+        Instant now = Instant.now();
+        State current = state;
+        if (generatedKeys && !rotationInterval.isZero()
+                && current.activatedAt().plus(rotationInterval).isBefore(now)) {
+            rotateKeyPair();
+            current = state;
+        }
+
+        Map<String, VerificationKey> keys = new LinkedHashMap<>(current.verificationKeys());
+        if (keys.values().removeIf(key -> key.retireAt() != null && key.retireAt().isBefore(now))) {
+            state = newState(current.active(), current.activatedAt(), keys);
+        }
+    }
+
+    private void activate(SigningKey active, Key verificationKey) {
+        State current = state;
+        Instant now = Instant.now();
+        Map<String, VerificationKey> keys = new LinkedHashMap<>(current.verificationKeys());
+        // La clave reemplazada se retira cuando expiren los tokens que firmó
+        VerificationKey previous = keys.get(current.active().kid());
+        if (previous != null) {
+            keys.put(current.active().kid(), new VerificationKey(previous.key(), now.plus(overlap)));
+        }
+        keys.put(active.kid(), new VerificationKey(verificationKey != null ? verificationKey : active.key(), null));
+        state = newState(active, now, keys);
+        Logger.info(getClass(), "Clave JWT rotada, kid activo: {}", active.kid());
+    }
+
+    private static State newState(SigningKey active, Instant activatedAt, Map<String, VerificationKey> keys) {
+        return new State(active, activatedAt, Collections.unmodifiableMap(keys), buildJwks(keys));
+    }
+
+    private static Jwks buildJwks(Map<String, VerificationKey> keys) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        boolean first = true;
+        for (Map.Entry<String, VerificationKey> entry : keys.entrySet()) {
+            if (!(entry.getValue().key() instanceof RSAPublicKey publicKey)) {
+                continue;
+            }
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"").append(entry.getKey())
+                    .append("\",\"n\":\"").append(encoder.encodeToString(unsigned(publicKey.getModulus())))
+                    .append("\",\"e\":\"").append(encoder.encodeToString(unsigned(publicKey.getPublicExponent())))
+                    .append("\"}");
+        }
+        json.append("]}");
+
+        String document = json.toString();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(document.getBytes(StandardCharsets.UTF_8));
+            return new Jwks(document, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // Los valores de un JWK son enteros sin signo en big-endian, sin el byte de signo de BigInteger
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            return trimmed;
+        }
+        return bytes;
+    }
+
+    private static String newKid() {
+        return "r" + Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeyPair generateRsaKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(RSA_KEY_SIZE);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No fue posible generar el par de claves RSA", e);
+        }
+    }
+
+    private static KeyPair parseRsaKeyPair(String privateKeyPem) {
+        String base64 = privateKeyPem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        try {
+            KeyFactory factory = KeyFactory.getInstance("RSA");
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64)));
+            if (!(privateKey instanceof RSAPrivateCrtKey crtKey)) {
+                throw new IllegalArgumentException("jwt.rsa.privateKey debe incluir el exponente público (PKCS#8 CRT)");
+            }
+            PublicKey publicKey = factory.generatePublic(
+                    new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+            return new KeyPair(publicKey, privateKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("jwt.rsa.privateKey no es una clave privada RSA PKCS#8 válida", e);
+        }
+    }
+}
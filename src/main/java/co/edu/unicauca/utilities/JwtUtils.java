@@ -1,12 +1,34 @@
 package co.edu.unicauca.utilities;
 
 import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.enums.TokenRejectReason;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Clase de utilidad para manejar la creación, validación y extracción de datos
@@ -15,36 +37,60 @@ import java.util.List;
 @Component
 public class JwtUtils {
 
-    // Clave secreta usada para firmar y verificar los tokens JWT.
-    // Se inyecta desde application.properties o application.yml
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Claves usadas para firmar y verificar los tokens JWT, construidas una sola vez.
+    private final JwtKeyRing keyRing;
+
+    // Parser inmutable y seguro para hilos; resuelve la clave según el "kid" del token.
+    private final JwtParser jwtParser;
+
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private static final ObjectReader JSON_READER = new ObjectMapper().readerFor(new TypeReference<Map<String, Object>>() {});
 
     // Tiempo de expiración del token en milisegundos.
     @Value("${jwt.expirationMs}")
     private int jwtExpirationMs;
 
+    public JwtUtils(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    // JJWT 0.11 declara el encabezado sin tipo genérico: con JwsHeader<?> el método no lo sobrescribe
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Clave JWT desconocida: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
     /**
      * Genera un token JWT utilizando los detalles de la cuenta autenticada.
-     * Incluye información personalizada (claims) como el id de la cuenta y sus roles.
+     * Incluye información personalizada (claims) como el id de la cuenta y sus roles,
+     * estos últimos codificados como máscara de bits en el claim {@code rl}, y un identificador
+     * único ({@code jti}) que permite revocar el token antes de su expiración.
      *
      * @param accountDetails objeto con los datos del usuario autenticado
-     * @return token JWT firmado con el algoritmo HS256
+     * @return token JWT firmado con la clave activa ({@code HS256} o {@code RS256} según {@code jwt.algorithm})
      */
     public String generateJwtToken(AccountDetails accountDetails) {
-        // Convertir los roles del usuario en una lista de Strings
-        List<String> roles = accountDetails.getAuthorities()
-                .stream()
-                .map(authority -> authority.getAuthority())
-                .toList();
+        JwtKeyRing.SigningKey signingKey = keyRing.activeKey();
+        long now = System.currentTimeMillis();
 
         // Construcción del token JWT con claims personalizados
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid()) // Identificador de la clave de firma
                 .claim("idAccount", accountDetails.getId()) // Agrega el ID de la cuenta
-                .claim("roles", roles) // Agrega los roles del usuario
-                .setIssuedAt(new Date()) // Fecha de emisión
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs)) // Fecha de expiración
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()), SignatureAlgorithm.HS256) // Firma del token
+                .claim("email", accountDetails.getUsername()) // Agrega el correo de la cuenta
+                .claim("rl", Role.toMask(accountDetails.getAccount().getRoles())) // Roles como máscara de bits
+                .setId(UUID.randomUUID().toString()) // Identificador único, usado para revocar el token
+                .setIssuedAt(new Date(now)) // Fecha de emisión
+                .setExpiration(new Date(now + jwtExpirationMs)) // Fecha de expiración
+                .signWith(signingKey.key(), signingKey.algorithm()) // Firma del token
                 .compact(); // Genera el token en formato String
     }
 
@@ -55,9 +101,7 @@ public class JwtUtils {
      * @return id de la cuenta (Long)
      */
     public Long getAccountIdFromJwtToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
+        Claims claims = jwtParser
                 .parseClaimsJws(token)
                 .getBody();
 
@@ -77,15 +121,93 @@ public class JwtUtils {
      * @return email contenido en el token
      */
     public String getEmailFromJwtToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
+        Claims claims = jwtParser
                 .parseClaimsJws(token)
                 .getBody(); // Extrae los claims del token
 
         return claims.get("email", String.class); // Obtiene el claim "email"
     }
 
+    /**
+     * Verifica el token JWT una sola vez (decodificación, firma, vigencia y claims) y
+     * devuelve el resultado como un objeto inmutable.
+     *
+     * <p>Este método nunca lanza excepciones: los tokens inválidos se reportan mediante
+     * {@link VerifiedToken#rejectReason()}. La verificación no pasa por el parser de JJWT, que
+     * señala cada rechazo con una excepción: el formato, el algoritmo, la firma y la vigencia se
+     * comprueban directamente, de modo que los rechazos habituales (firma inválida, token vencido)
+     * no crean excepciones. Solo un encabezado o payload que no es JSON se detecta con la excepción
+     * del lector.</p>
+     *
+     * @param token token JWT a verificar
+     * @return resultado de la verificación
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            return VerifiedToken.rejected(TokenRejectReason.MISSING);
+        }
+        if (!hasJwsShape(token)) {
+            return VerifiedToken.rejected(TokenRejectReason.MALFORMED);
+        }
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+
+        Map<String, Object> header = readJson(token, 0, first);
+        if (header == null || !(header.getOrDefault(JwsHeader.KEY_ID, "") instanceof String kid)) {
+            return VerifiedToken.rejected(TokenRejectReason.MALFORMED);
+        }
+        Object algorithm = header.get(JwsHeader.ALGORITHM);
+        if (header.containsKey(JwsHeader.COMPRESSION_ALGORITHM)
+                || !(SignatureAlgorithm.HS256.getValue().equals(algorithm)
+                || SignatureAlgorithm.RS256.getValue().equals(algorithm))) {
+            return VerifiedToken.rejected(TokenRejectReason.UNSUPPORTED);
+        }
+        Key key = keyRing.verificationKey(kid.isEmpty() ? null : kid);
+        if (key == null || !signatureMatches((String) algorithm, key, token, second)) {
+            return VerifiedToken.rejected(TokenRejectReason.BAD_SIGNATURE);
+        }
+
+        Map<String, Object> claims = readJson(token, first + 1, second);
+        if (claims == null) {
+            return VerifiedToken.rejected(TokenRejectReason.MALFORMED);
+        }
+        if (!(claims.get("idAccount") instanceof Number accountId)
+                || !(claims.get(Claims.EXPIRATION) instanceof Number expiration)) {
+            return VerifiedToken.rejected(TokenRejectReason.MISSING_CLAIMS);
+        }
+        long now = System.currentTimeMillis();
+        if (now > toMillis(expiration)) {
+            return VerifiedToken.rejected(TokenRejectReason.EXPIRED);
+        }
+        // Como JJWT, un token que aún no entra en vigencia se trata como inválido
+        if (claims.get(Claims.NOT_BEFORE) instanceof Number notBefore && now < toMillis(notBefore)) {
+            return VerifiedToken.rejected(TokenRejectReason.MALFORMED);
+        }
+
+        Set<Role> roles;
+        if (claims.get("rl") instanceof Number roleMask) {
+            roles = Role.fromMask(roleMask.intValue());
+        } else {
+            // Tokens emitidos antes de la máscara de roles: lista de nombres en el claim "roles"
+            roles = EnumSet.noneOf(Role.class);
+            if (claims.get("roles") instanceof List<?> roleClaims) {
+                for (Object role : roleClaims) {
+                    for (Role candidate : Role.values()) {
+                        if (candidate.name().equals(role)) {
+                            roles.add(candidate);
+                        }
+                    }
+                }
+            }
+        }
+
+        return VerifiedToken.valid(accountId.longValue(),
+                claims.get("email") instanceof String email ? email : null, roles,
+                claims.get(Claims.ID) instanceof String tokenId ? tokenId : null,
+                claims.get(Claims.ISSUED_AT) instanceof Number issuedAt ? Instant.ofEpochMilli(toMillis(issuedAt)) : null,
+                Instant.ofEpochMilli(toMillis(expiration)));
+    }
+
     /**
      * Valida la integridad y vigencia de un token JWT.
      * Verifica que esté bien formado, firmado correctamente y no haya expirado.
@@ -94,24 +216,92 @@ public class JwtUtils {
      * @return true si el token es válido, false si no lo es
      */
     public boolean validateJwtToken(String token) {
+        VerifiedToken result = verify(token);
+        if (!result.isValid()) {
+            Logger.error(getClass(), "Invalid JWT token: {}", result.rejectReason());
+        }
+        return result.isValid();
+    }
+
+    /**
+     * Comprueba que el token tenga exactamente tres segmentos no vacíos separados por punto, cada uno
+     * en Base64URL sin relleno, de modo que decodificarlos nunca falla.
+     */
+    private static boolean hasJwsShape(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        return first > 0
+                && second > first + 1
+                && second < token.length() - 1
+                && token.indexOf('.', second + 1) < 0
+                && isBase64Url(token, 0, first)
+                && isBase64Url(token, first + 1, second)
+                && isBase64Url(token, second + 1, token.length());
+    }
+
+    private static boolean isBase64Url(String token, int from, int to) {
+        // Un segmento de longitud 4n+1 no corresponde a ninguna secuencia de bytes
+        if ((to - from) % 4 == 1) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] decode(String token, int from, int to) {
+        return BASE64_URL.decode(token.substring(from, to));
+    }
+
+    /**
+     * Lee un segmento como objeto JSON.
+     *
+     * @return los campos del objeto, o {@code null} si el segmento no es un objeto JSON
+     */
+    private static Map<String, Object> readJson(String token, int from, int to) {
+        try {
+            return JSON_READER.readValue(decode(token, from, to));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Verifica la firma de {@code header.payload} con la clave del {@code kid}. El algoritmo del
+     * encabezado debe corresponder al tipo de la clave, para que un token HS256 no se verifique con
+     * una clave pública RSA como si fuera un secreto.
+     */
+    private static boolean signatureMatches(String algorithm, Key key, String token, int signatureStart) {
+        byte[] content = token.substring(0, signatureStart).getBytes(StandardCharsets.US_ASCII);
+        byte[] signature = decode(token, signatureStart + 1, token.length());
         try {
-            // Intenta parsear el token, si no lanza excepción es válido
-            Jwts.parserBuilder()
-                    .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-
-            // Captura de posibles errores en el token
-        } catch (MalformedJwtException e) {
-            Logger.error(getClass(), "Invalid JWT token: " + e.getMessage());
-        } catch (ExpiredJwtException e) {
-            Logger.error(getClass(), "JWT token is expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            Logger.error(getClass(), "JWT token is unsupported: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            Logger.error(getClass(), "JWT claims string is empty: " + e.getMessage());
-        }
-        return false; // Si hubo algún error, el token no es válido
+            if (key instanceof SecretKey secretKey && SignatureAlgorithm.HS256.getValue().equals(algorithm)) {
+                Mac mac = Mac.getInstance(SignatureAlgorithm.HS256.getJcaName());
+                mac.init(secretKey);
+                return MessageDigest.isEqual(mac.doFinal(content), signature);
+            }
+            if (key instanceof RSAPublicKey publicKey && SignatureAlgorithm.RS256.getValue().equals(algorithm)) {
+                // Una firma de otra longitud haría que el proveedor lance una excepción
+                if (signature.length != (publicKey.getModulus().bitLength() + 7) / 8) {
+                    return false;
+                }
+                Signature verifier = Signature.getInstance(SignatureAlgorithm.RS256.getJcaName());
+                verifier.initVerify(publicKey);
+                verifier.update(content);
+                return verifier.verify(signature);
+            }
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo verificar la firma JWT con " + algorithm, e);
+        }
+    }
+
+    // Las fechas JWT son segundos desde la época
+    private static long toMillis(Number seconds) {
+        return (long) (seconds.doubleValue() * 1000);
     }
 }
@@ -1,11 +1,33 @@
 package co.edu.unicauca.utilities;
 
-import java.time.LocalDateTime;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Clase utilitaria para registrar mensajes en la consola con diferentes niveles de severidad
  * (INFO, SUCCESS, WARN, ERROR).
- * Los mensajes se imprimen con colores y marca de tiempo para facilitar la lectura en consola.
+ * Los mensajes se imprimen con colores y marca de tiempo para facilitar la lectura en consola,
+ * o como una línea JSON por evento para el pipeline de logs.
+ *
+ * <p>El nivel mínimo se comprueba antes de construir el mensaje. Los mensajes admiten parámetros
+ * con {@code {}} ({@code Logger.info(getClass(), "Cuenta {} validada", id)}), que solo se formatean
+ * si el nivel está habilitado; las variantes de uno y dos argumentos evitan crear el arreglo varargs
+ * cuando el nivel está deshabilitado. En modo asíncrono (por defecto) el hilo que registra solo encola
+ * el evento en un buffer circular acotado y un hilo dedicado lo formatea y escribe; si el buffer
+ * está lleno el evento se descarta en lugar de bloquear la petición, y los descartes se reportan
+ * después.</p>
+ *
+ * <p>La configuración se aplica al iniciar la aplicación con {@link #configure(Level, boolean, boolean, int)}.</p>
  */
 public class Logger {
 
@@ -16,16 +38,69 @@ public class Logger {
     public static final String ANSI_YELLOW = "\u001B[33m";
     public static final String ANSI_BLUE   = "\u001B[34m";
 
+    /** Niveles de severidad, de menor a mayor. */
+    public enum Level {
+        INFO(ANSI_BLUE),
+        SUCCESS(ANSI_GREEN),
+        WARN(ANSI_YELLOW),
+        ERROR(ANSI_RED),
+        OFF("");
+
+        private final String color;
+
+        Level(String color) {
+            this.color = color;
+        }
+    }
+
+    /** Evento pendiente de escritura; el mensaje se formatea en el hilo escritor. */
+    private record Event(long timestamp, Level level, Class<?> source, String thread, String pattern, Object[] args) {}
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter JSON_TIMESTAMP_FORMAT = DateTimeFormatter.ISO_INSTANT;
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final Writer OUT = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    private static volatile Level minLevel = Level.INFO;
+    private static volatile boolean json = false;
+    private static volatile boolean async = false;
+    private static volatile BlockingQueue<Event> buffer;
+    private static Thread writerThread;
+
     // Constructor privado para evitar la instanciación de la clase (solo métodos estáticos)
     private Logger() {}
 
     /**
-     * Genera una marca de tiempo actual en formato ISO-8601.
+     * Configura el logger. Puede llamarse de nuevo para cambiar la configuración.
      *
-     * @return cadena con la fecha y hora actual.
+     * @param level nivel mínimo que se registra
+     * @param jsonOutput {@code true} para escribir una línea JSON por evento
+     * @param asynchronous {@code true} para escribir desde un hilo dedicado
+     * @param bufferSize capacidad del buffer de eventos en modo asíncrono
      */
-    private static String timestamp() {
-        return LocalDateTime.now().toString();
+    public static synchronized void configure(Level level, boolean jsonOutput, boolean asynchronous, int bufferSize) {
+        minLevel = level;
+        json = jsonOutput;
+        if (asynchronous && writerThread == null) {
+            buffer = new ArrayBlockingQueue<>(bufferSize);
+            writerThread = new Thread(Logger::drainLoop, "logger-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(Logger::flushPending, "logger-shutdown"));
+        }
+        async = asynchronous;
+    }
+
+    /**
+     * Indica si los mensajes del nivel dado se registran. Útil para evitar calcular
+     * argumentos costosos cuando el nivel está deshabilitado.
+     */
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= minLevel.ordinal();
     }
 
     /**
@@ -35,8 +110,26 @@ public class Logger {
      * @param message mensaje a mostrar
      */
     public static void info(Class<?> source, String message) {
-        System.out.println(ANSI_BLUE + "[INFO][" + timestamp() + "][" + source.getSimpleName() + "] "
-                + ANSI_RESET + message);
+        log(Level.INFO, source, message, NO_ARGS);
+    }
+
+    /**
+     * Registra un mensaje informativo con parámetros {@code {}}.
+     */
+    public static void info(Class<?> source, String pattern, Object arg) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, source, pattern, new Object[]{arg});
+        }
+    }
+
+    public static void info(Class<?> source, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, source, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public static void info(Class<?> source, String pattern, Object... args) {
+        log(Level.INFO, source, pattern, args);
     }
 
     /**
@@ -46,8 +139,26 @@ public class Logger {
      * @param message mensaje a mostrar
      */
     public static void success(Class<?> source, String message) {
-        System.out.println(ANSI_GREEN + "[SUCCESS][" + timestamp() + "][" + source.getSimpleName() + "] "
-                + ANSI_RESET + message);
+        log(Level.SUCCESS, source, message, NO_ARGS);
+    }
+
+    /**
+     * Registra un mensaje de éxito con parámetros {@code {}}.
+     */
+    public static void success(Class<?> source, String pattern, Object arg) {
+        if (isEnabled(Level.SUCCESS)) {
+            log(Level.SUCCESS, source, pattern, new Object[]{arg});
+        }
+    }
+
+    public static void success(Class<?> source, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.SUCCESS)) {
+            log(Level.SUCCESS, source, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public static void success(Class<?> source, String pattern, Object... args) {
+        log(Level.SUCCESS, source, pattern, args);
     }
 
     /**
@@ -57,8 +168,26 @@ public class Logger {
      * @param message mensaje a mostrar
      */
     public static void warn(Class<?> source, String message) {
-        System.out.println(ANSI_YELLOW + "[WARN][" + timestamp() + "][" + source.getSimpleName() + "] "
-                + message + ANSI_RESET);
+        log(Level.WARN, source, message, NO_ARGS);
+    }
+
+    /**
+     * Registra una advertencia con parámetros {@code {}}.
+     */
+    public static void warn(Class<?> source, String pattern, Object arg) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, source, pattern, new Object[]{arg});
+        }
+    }
+
+    public static void warn(Class<?> source, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, source, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public static void warn(Class<?> source, String pattern, Object... args) {
+        log(Level.WARN, source, pattern, args);
     }
 
     /**
@@ -68,7 +197,193 @@ public class Logger {
      * @param message mensaje a mostrar
      */
     public static void error(Class<?> source, String message) {
-        System.out.println(ANSI_RED + "[ERROR][" + timestamp() + "][" + source.getSimpleName() + "] "
-                + message + ANSI_RESET);
+        log(Level.ERROR, source, message, NO_ARGS);
+    }
+
+    /**
+     * Registra un mensaje de error con parámetros {@code {}}.
+     */
+    public static void error(Class<?> source, String pattern, Object arg) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, source, pattern, new Object[]{arg});
+        }
+    }
+
+    public static void error(Class<?> source, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, source, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    public static void error(Class<?> source, String pattern, Object... args) {
+        log(Level.ERROR, source, pattern, args);
+    }
+
+    /**
+     * Oculta la parte local de un correo para no registrar datos personales
+     * ({@code laura@unicauca.edu.co} → {@code l***@unicauca.edu.co}).
+     */
+    public static String maskEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return "***";
+        }
+        return email.charAt(0) + "***" + email.substring(at);
+    }
+
+    private static void log(Level level, Class<?> source, String pattern, Object[] args) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Event event = new Event(System.currentTimeMillis(), level, source, Thread.currentThread().getName(),
+                pattern, args);
+        BlockingQueue<Event> queue = buffer;
+        if (async && queue != null) {
+            if (!queue.offer(event)) {
+                DROPPED.incrementAndGet();
+            }
+        } else {
+            synchronized (OUT) {
+                writeSafely(event);
+                flush();
+            }
+        }
+    }
+
+    private static void drainLoop() {
+        while (true) {
+            try {
+                Event event = buffer.poll(1, TimeUnit.SECONDS);
+                synchronized (OUT) {
+                    while (event != null) {
+                        writeSafely(event);
+                        event = buffer.poll();
+                    }
+                    reportDropped();
+                    flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Un error inesperado no debe detener el hilo escritor: el buffer se llenaría y se
+                // perderían todos los mensajes siguientes
+                DROPPED.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Escribe un evento sin propagar errores de sus argumentos (por ejemplo un {@code toString()}
+     * que lanza una excepción); el evento se cuenta como descartado.
+     */
+    private static void writeSafely(Event event) {
+        try {
+            write(event);
+        } catch (RuntimeException e) {
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    private static void flushPending() {
+        BlockingQueue<Event> queue = buffer;
+        synchronized (OUT) {
+            Event event;
+            while (queue != null && (event = queue.poll()) != null) {
+                writeSafely(event);
+            }
+            reportDropped();
+            flush();
+        }
+    }
+
+    private static void reportDropped() {
+        long dropped = DROPPED.getAndSet(0);
+        if (dropped > 0) {
+            write(new Event(System.currentTimeMillis(), Level.WARN, Logger.class, "logger-writer",
+                    "{} log events dropped (buffer full or failed to format)", new Object[]{dropped}));
+        }
+    }
+
+    private static void write(Event event) {
+        String message = format(event.pattern(), event.args());
+        StringBuilder line = new StringBuilder(message.length() + 96);
+        if (json) {
+            line.append("{\"timestamp\":\"").append(JSON_TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(event.timestamp())))
+                    .append("\",\"level\":\"").append(event.level().name())
+                    .append("\",\"logger\":\"");
+            appendJsonEscaped(line, event.source().getName());
+            line.append("\",\"thread\":\"");
+            appendJsonEscaped(line, event.thread());
+            line.append("\",\"message\":\"");
+            appendJsonEscaped(line, message);
+            line.append("\"}");
+        } else {
+            line.append(event.level().color).append('[').append(event.level().name()).append("][")
+                    .append(TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(event.timestamp()))).append("][")
+                    .append(event.source().getSimpleName()).append("] ");
+            // Como antes: INFO/SUCCESS colorean solo la cabecera, WARN/ERROR todo el mensaje
+            if (event.level() == Level.INFO || event.level() == Level.SUCCESS) {
+                line.append(ANSI_RESET).append(message);
+            } else {
+                line.append(message).append(ANSI_RESET);
+            }
+        }
+        line.append(System.lineSeparator());
+        try {
+            OUT.write(line.toString());
+        } catch (IOException e) {
+            // La consola no está disponible; no hay otro lugar donde reportarlo
+        }
+    }
+
+    private static void flush() {
+        try {
+            OUT.flush();
+        } catch (IOException e) {
+            // La consola no está disponible; no hay otro lugar donde reportarlo
+        }
+    }
+
+    /**
+     * Reemplaza cada {@code {}} del patrón por el siguiente argumento.
+     */
+    static String format(String pattern, Object[] args) {
+        if (args.length == 0 || pattern == null) {
+            return String.valueOf(pattern);
+        }
+        StringBuilder result = new StringBuilder(pattern.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            result.append(pattern, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        result.append(pattern, start, pattern.length());
+        return result.toString();
+    }
+
+    private static void appendJsonEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == 0x1B) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
     }
 }
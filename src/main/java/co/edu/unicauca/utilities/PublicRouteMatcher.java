@@ -0,0 +1,163 @@
+package co.edu.unicauca.utilities;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registro de las rutas públicas del servicio ({@code security.publicRoutes}): rutas que no requieren
+ * token y que {@link JwtAuthFilter} no procesa. La misma instancia se usa como {@code permitAll} en
+ * {@code SecurityConfig} y en {@link JwtAuthFilter#shouldNotFilter}, de modo que ambas listas no
+ * pueden diferir.
+ *
+ * <p>Formatos admitidos:</p>
+ * <ul>
+ *   <li>{@code /ruta/exacta}</li>
+ *   <li>{@code /prefijo/**}: el prefijo y cualquier ruta bajo él</li>
+ *   <li>{@code *.ext}: cualquier ruta terminada en esa extensión</li>
+ * </ul>
+ *
+ * <p>Al iniciar, las rutas exactas y los prefijos se compilan en un árbol por segmentos de ruta; clasificar
+ * una petición recorre la ruta una sola vez, comparando cada segmento con los hijos del nodo actual
+ * directamente sobre la ruta, sin crear cadenas, y solo si no hay coincidencia revisa las extensiones.
+ * El costo depende de la profundidad de la ruta, no de la cantidad de patrones.</p>
+ */
+@Component
+public class PublicRouteMatcher implements RequestMatcher {
+
+    private final List<String> patterns;
+    private final Node root = new Node();
+    private final String[] suffixes;
+
+    public PublicRouteMatcher(@Value("${security.publicRoutes:}") List<String> patterns) {
+        List<String> suffixList = new ArrayList<>();
+        List<String> normalized = new ArrayList<>();
+        for (String raw : patterns) {
+            String pattern = raw.strip();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            normalized.add(pattern);
+            if (pattern.startsWith("*.") && pattern.indexOf('*', 1) < 0 && pattern.indexOf('/') < 0) {
+                suffixList.add(pattern.substring(1));
+            } else if (pattern.startsWith("/") && pattern.endsWith("/**")
+                    && pattern.indexOf('*') == pattern.length() - 2) {
+                insert(pattern.substring(0, pattern.length() - 3)).prefix = true;
+            } else if (pattern.startsWith("/") && pattern.indexOf('*') < 0) {
+                insert(pattern).exact = true;
+            } else {
+                throw new IllegalArgumentException("Patrón no soportado en security.publicRoutes: " + pattern
+                        + " (se admiten /ruta, /prefijo/** y *.ext)");
+            }
+        }
+        this.patterns = List.copyOf(normalized);
+        this.suffixes = suffixList.toArray(String[]::new);
+    }
+
+    /**
+     * Indica si la petición va a una ruta pública, sin considerar el context path de la aplicación.
+     */
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return matches(contextPath.isEmpty() ? uri : uri.substring(contextPath.length()));
+    }
+
+    /**
+     * Indica si la ruta es pública.
+     *
+     * @param path ruta de la petición, empezando por {@code /}
+     * @return {@code true} si coincide con alguno de los patrones
+     */
+    public boolean matches(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        Node node = root;
+        int length = path.length();
+        int start = 1;
+        while (true) {
+            if (node.prefix) {
+                return true;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.child(path, start, end);
+            if (node == null) {
+                return matchesSuffix(path);
+            }
+            if (end == length) {
+                return node.prefix || node.exact || matchesSuffix(path);
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Patrones configurados, en el orden de {@code security.publicRoutes}.
+     */
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    private boolean matchesSuffix(String path) {
+        for (String suffix : suffixes) {
+            if (path.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Node insert(String path) {
+        Node node = root;
+        for (String segment : path.substring(1).split("/", -1)) {
+            node = node.getOrCreate(segment);
+        }
+        return node;
+    }
+
+    /**
+     * Nodo del árbol: un segmento de ruta. Los hijos se guardan en arreglos paralelos porque cada
+     * nodo tiene pocos y así la búsqueda compara directamente sobre la ruta de la petición.
+     */
+    private static final class Node {
+        private String[] keys = new String[0];
+        private Node[] children = new Node[0];
+        // La ruta termina exactamente en este nodo
+        private boolean exact;
+        // Este nodo y todo lo que cuelga de él es público
+        private boolean prefix;
+
+        Node child(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].length() == length && path.startsWith(keys[i], start)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node getOrCreate(String segment) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = segment;
+            children[children.length - 1] = new Node();
+            return children[children.length - 1];
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.unicauca.utilities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Cuenta las llamadas a repositorios hechas durante la petición HTTP en curso.
+ *
+ * <p>El contador se asocia al hilo de la petición ({@link RepositoryCallMetricsFilter}); las tareas
+ * que la petición delega a otros hilos, como el hashing de contraseñas del login, lo heredan con
+ * {@link #propagate(Supplier)}. Fuera de una petición las llamadas no se cuentan.</p>
+ */
+public final class RepositoryCallCounter {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    private RepositoryCallCounter() {
+    }
+
+    /**
+     * Registra una llamada a un repositorio en el contador del hilo actual, si lo hay.
+     */
+    public static void increment() {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Envuelve una tarea para que cuente sus llamadas en el contador del hilo que la crea.
+     *
+     * @param task tarea a ejecutar en otro hilo
+     * @return la tarea envuelta, o la misma tarea si el hilo actual no tiene contador
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = CURRENT.get();
+            CURRENT.set(counter);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void bind(AtomicInteger counter) {
+        CURRENT.set(counter);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+}
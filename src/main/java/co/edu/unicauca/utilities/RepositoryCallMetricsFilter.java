@@ -0,0 +1,80 @@
+package co.edu.unicauca.utilities;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica cuántas llamadas a repositorios hizo cada petición en el resumen {@code auth.repository.calls},
+ * etiquetado con el patrón de la ruta ({@code uri}, por ejemplo {@code /auth/validate-role/{accountId}/{expectedRole}})
+ * para mantener baja la cardinalidad.
+ *
+ * <p>Se ejecuta antes que la cadena de seguridad para incluir las consultas de {@link JwtAuthFilter}.
+ * En las peticiones asíncronas (login y registro) el valor se registra al completarse la respuesta.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RepositoryCallMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryCallMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger calls = new AtomicInteger();
+        RepositoryCallCounter.bind(calls);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            RepositoryCallCounter.unbind();
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(req, calls);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(req, calls);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest req, AtomicInteger calls) {
+        Object pattern = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("auth.repository.calls")
+                .description("Llamadas a repositorios por petición")
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .register(meterRegistry)
+                .record(calls.get());
+    }
+}
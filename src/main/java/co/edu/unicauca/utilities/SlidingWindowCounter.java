@@ -0,0 +1,179 @@
+package co.edu.unicauca.utilities;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de eventos en una ventana deslizante, seguro para hilos y sin bloqueos.
+ *
+ * <p>Aproxima la ventana deslizante con dos ventanas fijas consecutivas: la estimación es la
+ * cuenta de la ventana actual más la de la anterior ponderada por la fracción de la ventana
+ * anterior que todavía cae dentro de los últimos {@code windowMs} milisegundos. Todo el estado
+ * (índice de ventana y ambas cuentas) se guarda en un único {@code long} que se actualiza con
+ * compare-and-set, por lo que cada contador ocupa unos pocos bytes y nunca bloquea.</p>
+ *
+ * <p>El estado nunca retrocede de ventana: un hilo cuyo instante quedó en la ventana anterior a la
+ * ya registrada (peticiones concurrentes en el cambio de ventana) cuenta en la ventana registrada,
+ * con la anterior a peso completo, en lugar de descartar las cuentas.</p>
+ *
+ * <p>Las cuentas se saturan en {@value #MAX_COUNT}, más que suficiente para límites de intentos.</p>
+ */
+public class SlidingWindowCounter {
+
+    static final int MAX_COUNT = 0xFFFF;
+
+    private final long windowMs;
+    // Bits 32-63: índice de la ventana actual; 16-31: cuenta de la anterior; 0-15: cuenta de la actual
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * @param windowMs duración de la ventana en milisegundos
+     */
+    public SlidingWindowCounter(long windowMs) {
+        if (windowMs <= 0) {
+            throw new IllegalArgumentException("windowMs must be positive");
+        }
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Registra un evento solo si la estimación, contándolo, no supera el límite.
+     *
+     * @param limit cantidad máxima de eventos en la ventana
+     * @param nowMs instante actual en milisegundos
+     * @return {@code true} si el evento se registró; {@code false} si se alcanzó el límite
+     */
+    public boolean tryAcquire(int limit, long nowMs) {
+        return tryAdd(1, limit, nowMs);
+    }
+
+    /**
+     * Registra varios eventos solo si la estimación, contándolos todos, no supera el límite.
+     *
+     * @param count cantidad de eventos
+     * @param limit cantidad máxima de eventos en la ventana
+     * @param nowMs instante actual en milisegundos
+     * @return {@code true} si los eventos se registraron; {@code false} si no caben y no se registró ninguno
+     */
+    public boolean tryAdd(int count, int limit, long nowMs) {
+        if (count <= 0) {
+            return true;
+        }
+        long window = nowMs / windowMs;
+        while (true) {
+            long current = state.get();
+            long rolled = roll(current, window);
+            if (estimate(rolled, nowMs) + count > limit) {
+                return false;
+            }
+            if (state.compareAndSet(current, added(rolled, count))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Registra un evento sin límite.
+     *
+     * @param nowMs instante actual en milisegundos
+     */
+    public void increment(long nowMs) {
+        add(1, nowMs);
+    }
+
+    /**
+     * Registra varios eventos sin límite.
+     *
+     * @param count cantidad de eventos
+     * @param nowMs instante actual en milisegundos
+     */
+    public void add(int count, long nowMs) {
+        if (count <= 0) {
+            return;
+        }
+        long window = nowMs / windowMs;
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, added(roll(current, window), count)));
+    }
+
+    /**
+     * @param nowMs instante actual en milisegundos
+     * @return cantidad estimada de eventos en los últimos {@code windowMs} milisegundos
+     */
+    public double estimate(long nowMs) {
+        return estimate(roll(state.get(), nowMs / windowMs), nowMs);
+    }
+
+    /**
+     * Calcula cuánto falta para que, sin nuevos eventos, se pueda registrar uno más sin superar el límite.
+     *
+     * @param limit cantidad máxima de eventos en la ventana
+     * @param nowMs instante actual en milisegundos
+     * @return milisegundos de espera; {@code 0} si ya se puede
+     */
+    public long millisUntilAvailable(int limit, long nowMs) {
+        long rolled = roll(state.get(), nowMs / windowMs);
+        if (estimate(rolled, nowMs) + 1 <= limit) {
+            return 0;
+        }
+        long ahead = (rolled >>> 32) - (nowMs / windowMs & 0xFFFFFFFFL) & 0xFFFFFFFFL;
+        if (ahead > 0) {
+            // El estado ya está en una ventana posterior: la espera se cuenta desde su inicio
+            long windowStart = (nowMs / windowMs + ahead) * windowMs;
+            return windowStart - nowMs + millisUntilAvailable(limit, windowStart);
+        }
+        int previous = previous(rolled);
+        int current = current(rolled);
+        long elapsed = nowMs % windowMs;
+        double allowed = limit - 1;
+
+        if (current <= allowed) {
+            // Basta con que la ventana anterior pierda peso dentro de la ventana actual
+            long target = (long) Math.ceil(windowMs * (1 - (allowed - current) / previous));
+            return Math.max(1, target - elapsed);
+        }
+        // Hay que esperar a la siguiente ventana, donde la actual pasa a ser la anterior
+        long target = (long) Math.ceil(windowMs * (1 - allowed / current));
+        return windowMs - elapsed + target;
+    }
+
+    /**
+     * Descarta todos los eventos registrados.
+     */
+    public void reset() {
+        state.set(0);
+    }
+
+    private double estimate(long rolled, long nowMs) {
+        // Si el estado ya está en una ventana posterior, esta empieza ahora para fines del cálculo
+        double weight = rolled >>> 32 == (nowMs / windowMs & 0xFFFFFFFFL)
+                ? (double) (windowMs - nowMs % windowMs) / windowMs
+                : 1;
+        return previous(rolled) * weight + current(rolled);
+    }
+
+    /** Desplaza el estado a la ventana indicada; si el estado ya está en una posterior, lo deja igual. */
+    private static long roll(long state, long window) {
+        long stateWindow = state >>> 32;
+        long target = window & 0xFFFFFFFFL;
+        // Resta en 32 bits para que la comparación siga siendo válida cuando el índice da la vuelta
+        if (stateWindow == target || (int) (target - stateWindow) < 0) {
+            return state;
+        }
+        int previous = stateWindow + 1 == target ? current(state) : 0;
+        return target << 32 | (long) previous << 16;
+    }
+
+    private static long added(long state, int count) {
+        return state + Math.min(count, MAX_COUNT - current(state));
+    }
+
+    private static int previous(long state) {
+        return (int) (state >>> 16) & 0xFFFF;
+    }
+
+    private static int current(long state) {
+        return (int) state & 0xFFFF;
+    }
+}
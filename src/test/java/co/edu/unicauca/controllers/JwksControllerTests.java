@@ -0,0 +1,48 @@
+package co.edu.unicauca.controllers;
+
+import co.edu.unicauca.utilities.JwtKeyRing;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la revalidación del documento JWKS con {@code If-None-Match} antes y después de rotar la clave.
+ */
+@SpringBootTest(properties = "jwt.secret=jwks-tests-secret-0123456789abcdef")
+@AutoConfigureMockMvc
+@DirtiesContext
+class JwksControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtKeyRing keyRing;
+
+	@Test
+	void currentEtagIsNotModifiedUntilTheKeyRotates() throws Exception {
+		String etag = mockMvc.perform(get("/.well-known/jwks.json"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", etag));
+
+		Thread.sleep(2);
+		keyRing.rotateKeyPair();
+
+		String rotatedEtag = mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+		assertNotEquals(etag, rotatedEtag);
+	}
+}
@@ -0,0 +1,109 @@
+package co.edu.unicauca.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que una sola petición masiva no pueda revelar más cuentas que el presupuesto de búsquedas
+ * fallidas de la IP y que la validación de roles solo descuente cuentas inexistentes. Cada prueba usa
+ * su propia IP para no compartir presupuesto.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=lookup-budget-tests-secret-0123456789abcdef",
+		"loginThrottle.lookupMaxMisses=5"
+})
+@AutoConfigureMockMvc
+class LookupBudgetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void accountIdsBatchWithinTheBudgetIsAnswered() throws Exception {
+		assertEquals(HttpStatus.OK.value(), accountIds("10.0.0.1", unknownEmails("within", 5)).getStatus());
+	}
+
+	@Test
+	void oversizedAccountIdsBatchIsRefused() throws Exception {
+		MockHttpServletResponse refused = accountIds("10.0.0.2", unknownEmails("oversized", 6));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), refused.getStatus());
+		assertNotNull(refused.getHeader("Retry-After"));
+
+		// El lote rechazado consumió el presupuesto: la siguiente búsqueda también se rechaza
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), accountIds("10.0.0.2", unknownEmails("next", 1)).getStatus());
+	}
+
+	@Test
+	void knownEmailsDoNotConsumeTheBudget() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			MockHttpServletResponse response = accountIds("10.0.0.3", "[\"coordinador@unicauca.edu.co\"]");
+			assertEquals(HttpStatus.OK.value(), response.getStatus());
+			assertTrue(response.getContentAsString().contains("coordinador@unicauca.edu.co"));
+		}
+	}
+
+	@Test
+	void roleValidationIsAnsweredAndOnlyMissingAccountsConsumeTheBudget() throws Exception {
+		// Las cuentas 1 y 2 existen pero no son estudiantes: no consumen presupuesto
+		for (int i = 0; i < 10; i++) {
+			validateRoles("10.0.0.4", "[1,2,1,2,1,2,1,2]").andExpect(status().isOk());
+		}
+
+		// Un lote con más cuentas inexistentes que el presupuesto se responde, pero lo agota
+		validateRoles("10.0.0.5", "[900001,900002,900003,900004,900005,900006]").andExpect(status().isOk());
+		MockHttpServletResponse refused = validateRoles("10.0.0.5", "[1]")
+				.andExpect(status().isTooManyRequests())
+				.andReturn().getResponse();
+		assertTrue(refused.getContentAsString().contains("A-403"));
+	}
+
+	private ResultActions validateRoles(String ip, String accountIds) throws Exception {
+		return mockMvc.perform(from(ip, post("/auth/validate-roles"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"role\":\"STUDENT\",\"accountIds\":" + accountIds + "}"));
+	}
+
+	// La respuesta exitosa de /auth/account-ids se escribe de forma asíncrona; se completa antes de verificarla
+	private MockHttpServletResponse accountIds(String ip, String json) throws Exception {
+		MvcResult result = mockMvc.perform(from(ip, post("/auth/account-ids"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(json))
+				.andReturn();
+		if (result.getRequest().isAsyncStarted()) {
+			return mockMvc.perform(asyncDispatch(result)).andReturn().getResponse();
+		}
+		return result.getResponse();
+	}
+
+	private static MockHttpServletRequestBuilder from(String ip, MockHttpServletRequestBuilder builder) {
+		return builder.with(request -> {
+			request.setRemoteAddr(ip);
+			return request;
+		});
+	}
+
+	private static String unknownEmails(String prefix, int count) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < count; i++) {
+			json.append(i == 0 ? "" : ",").append("\"").append(prefix).append('-').append(i)
+					.append("-missing@unicauca.edu.co\"");
+		}
+		return json.append("]").toString();
+	}
+}
@@ -0,0 +1,106 @@
+package co.edu.unicauca.controllers;
+
+import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.services.UserService;
+import co.edu.unicauca.utilities.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que los endpoints que exponen información sensible no estén entre las rutas públicas
+ * y exijan un token del rol adecuado.
+ */
+@SpringBootTest(properties = "jwt.secret=protected-endpoints-tests-secret-0123456789abcdef")
+@AutoConfigureMockMvc
+class ProtectedEndpointsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtils jwtUtils;
+
+	@Autowired
+	private UserService userService;
+
+	@Test
+	void introspectionRequiresAnAuthenticatedCaller() throws Exception {
+		String token = token(1L, Role.STUDENT);
+
+		mockMvc.perform(post("/auth/introspect").param("token", token))
+				.andExpect(status().isForbidden());
+
+		mockMvc.perform(post("/auth/introspect").param("token", token)
+						.header("Authorization", "Bearer " + token(2L, Role.COORDINATOR)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.active").value(true))
+				.andExpect(jsonPath("$.idAccount").value(1));
+
+		// Un token inválido responde solo active=false
+		mockMvc.perform(post("/auth/introspect").param("token", "not-a-token")
+						.header("Authorization", "Bearer " + token(2L, Role.COORDINATOR)))
+				.andExpect(status().isOk())
+				.andExpect(content().json("{\"active\":false}", JsonCompareMode.STRICT));
+	}
+
+	@Test
+	void bulkRegistrationRequiresHeadOfDepartment() throws Exception {
+		mockMvc.perform(post("/auth/register/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isForbidden());
+
+		mockMvc.perform(post("/auth/register/bulk").contentType(MediaType.APPLICATION_JSON).content("[]")
+						.header("Authorization", "Bearer " + token(3L, Role.COORDINATOR)))
+				.andExpect(status().isForbidden());
+
+		mockMvc.perform(post("/auth/register/bulk").contentType(MediaType.APPLICATION_JSON).content("[]")
+						.header("Authorization", "Bearer " + headOfDepartmentToken()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.created").value(0));
+	}
+
+	@Test
+	void metricsAreNotPublicOnTheApiPort() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isForbidden());
+	}
+
+	// El filtro rechaza tokens de cuentas inexistentes, así que la jefatura se registra antes
+	private String headOfDepartmentToken() {
+		User user = new User();
+		user.setNames("Marta");
+		user.setLastNames("Ríos");
+		Account account = new Account();
+		account.setEmail("head-" + System.nanoTime() + "@unicauca.edu.co");
+		account.setPassword("123456");
+		account.setRoles(Set.of(Role.HEAD_OF_DEPARTMENT));
+		UserRegisterDTO dto = new UserRegisterDTO();
+		dto.setUser(user);
+		dto.setAccount(account);
+		return jwtUtils.generateJwtToken(new AccountDetails(userService.userRegister(dto).getAccount()));
+	}
+
+	private String token(Long accountId, Role role) {
+		Account account = new Account();
+		account.setIdAccount(accountId);
+		account.setEmail("protected-" + accountId + "@unicauca.edu.co");
+		account.setRoles(Set.of(role));
+		return jwtUtils.generateJwtToken(new AccountDetails(account));
+	}
+}
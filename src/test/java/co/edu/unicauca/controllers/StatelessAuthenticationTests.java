@@ -0,0 +1,71 @@
+package co.edu.unicauca.controllers;
+
+import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.utilities.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la autenticación sin estado ({@code jwt.stateless=true}): los roles se toman de los claims
+ * del token y no de la cuenta guardada, pero los tokens de cuentas inexistentes o alterados se rechazan.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=stateless-authentication-tests-secret-0123456789abcdef",
+		"jwt.stateless=true"
+})
+@AutoConfigureMockMvc
+class StatelessAuthenticationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtils jwtUtils;
+
+	@Test
+	void rolesComeFromTheTokenClaims() throws Exception {
+		// La cuenta 1 existe pero no es jefatura; el token dice que sí y en modo sin estado se le cree
+		bulkRegister(token(1L, Role.HEAD_OF_DEPARTMENT)).andExpect(status().isOk());
+		bulkRegister(token(1L, Role.STUDENT)).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void tokenOfAMissingAccountIsRejected() throws Exception {
+		bulkRegister(token(999_999L, Role.HEAD_OF_DEPARTMENT)).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void tamperedTokenIsRejected() throws Exception {
+		String token = token(1L, Role.HEAD_OF_DEPARTMENT);
+		String tampered = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+
+		bulkRegister(tampered).andExpect(status().isForbidden());
+	}
+
+	private ResultActions bulkRegister(String token) throws Exception {
+		return mockMvc.perform(post("/auth/register/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[]")
+				.header("Authorization", "Bearer " + token));
+	}
+
+	private String token(Long accountId, Role role) {
+		Account account = new Account();
+		account.setIdAccount(accountId);
+		account.setEmail("stateless-" + accountId + "@unicauca.edu.co");
+		account.setRoles(Set.of(role));
+		return jwtUtils.generateJwtToken(new AccountDetails(account));
+	}
+}
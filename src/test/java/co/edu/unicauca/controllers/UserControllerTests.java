@@ -0,0 +1,174 @@
+package co.edu.unicauca.controllers;
+
+import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.services.UserService;
+import co.edu.unicauca.utilities.JwtUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica el listado paginado por cursor de {@code /users} (cada página continúa después del
+ * {@code nextCursor} de la anterior y la última no tiene cursor) y la exportación en CSV y NDJSON,
+ * incluido que su tiempo máximo se aplique solo a {@code /users/export}.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=user-controller-tests-secret-0123456789abcdef",
+		"users.exportTimeoutMs=123000"
+})
+@AutoConfigureMockMvc
+class UserControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtils jwtUtils;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void pagesFollowTheCursorUntilTheLastOne() throws Exception {
+		List<Long> registered = List.of(register("page-a"), register("page-b"), register("page-c"));
+
+		List<Long> ids = new ArrayList<>();
+		String after = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/users").param("size", "2");
+			JsonNode page = json(after == null ? request : request.param("after", after));
+			JsonNode items = page.get("items");
+			assertTrue(items.size() <= 2);
+			items.forEach(item -> ids.add(item.get("id").asLong()));
+			JsonNode cursor = page.get("nextCursor");
+			if (items.size() == 2) {
+				// Página completa: el cursor es el ID del último usuario recibido
+				assertEquals(items.get(1).get("id").asLong(), cursor.asLong());
+			}
+			after = cursor.isNull() ? null : cursor.asText();
+		} while (after != null);
+
+		assertEquals(ids.stream().sorted().distinct().toList(), ids);
+		assertTrue(ids.containsAll(registered));
+	}
+
+	@Test
+	void invalidPageSizeIsRejected() throws Exception {
+		mockMvc.perform(get("/users").param("size", "0").header("Authorization", "Bearer " + coordinatorToken()))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void exportsCsv() throws Exception {
+		register("csv");
+		MvcResult result = export("csv");
+
+		assertTrue(result.getResponse().getContentType().startsWith("text/csv"));
+		List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+		assertEquals("id,names,lastNames,email,roles", lines.get(0));
+		assertTrue(lines.stream().anyMatch(line -> line.endsWith(",Ana,\"Pérez, Gil\",export-csv@unicauca.edu.co,STUDENT")));
+	}
+
+	@Test
+	void exportsNdjsonFilteredByRole() throws Exception {
+		register("ndjson");
+		MvcResult result = export("ndjson", "STUDENT");
+
+		List<JsonNode> users = new ArrayList<>();
+		for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList()) {
+			users.add(objectMapper.readTree(line));
+		}
+		assertFalse(users.isEmpty());
+		assertTrue(users.stream().allMatch(user -> user.get("roles").toString().contains("STUDENT")));
+		assertTrue(users.stream().anyMatch(user -> user.get("email").asText().equals("export-ndjson@unicauca.edu.co")));
+	}
+
+	@Test
+	void exportTimeoutAppliesOnlyToTheExport() throws Exception {
+		MvcResult export = mockMvc.perform(get("/users/export").header("Authorization", "Bearer " + coordinatorToken()))
+				.andReturn();
+		assertEquals(123_000L, export.getRequest().getAsyncContext().getTimeout());
+
+		MvcResult lookup = mockMvc.perform(post("/auth/account-ids").contentType(MediaType.APPLICATION_JSON)
+						.content("[\"coordinador@unicauca.edu.co\"]"))
+				.andReturn();
+		assertNotEquals(123_000L, lookup.getRequest().getAsyncContext().getTimeout());
+	}
+
+	@Test
+	void unsupportedFormatIsRejected() throws Exception {
+		mockMvc.perform(get("/users/export").param("format", "xml").header("Authorization", "Bearer " + coordinatorToken()))
+				.andExpect(status().isBadRequest());
+	}
+
+	private MvcResult export(String format) throws Exception {
+		return export(get("/users/export").param("format", format));
+	}
+
+	private MvcResult export(String format, String role) throws Exception {
+		return export(get("/users/export").param("format", format).param("role", role));
+	}
+
+	private MvcResult export(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + coordinatorToken())).andReturn();
+		return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+	}
+
+	private JsonNode json(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + coordinatorToken()))
+				.andExpect(status().isOk()).andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+	}
+
+	// El correo de cada prueba es fijo para poder buscarlo en la exportación; devuelve el ID del usuario
+	private Long register(String name) {
+		User user = new User();
+		user.setNames("Ana");
+		user.setLastNames("Pérez, Gil");
+		Account account = new Account();
+		account.setEmail("export-" + name + "@unicauca.edu.co");
+		account.setPassword("123456");
+		account.setRoles(Set.of(Role.STUDENT));
+		UserRegisterDTO dto = new UserRegisterDTO();
+		dto.setUser(user);
+		dto.setAccount(account);
+		return userService.userRegister(dto).getIdUser();
+	}
+
+	// La cuenta 2 es la del coordinador de los datos iniciales
+	private String coordinatorToken() {
+		Account account = new Account();
+		account.setIdAccount(2L);
+		account.setEmail("coordinador@unicauca.edu.co");
+		account.setRoles(Set.of(Role.COORDINATOR));
+		return jwtUtils.generateJwtToken(new AccountDetails(account));
+	}
+}
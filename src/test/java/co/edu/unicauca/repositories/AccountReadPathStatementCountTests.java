@@ -0,0 +1,137 @@
+package co.edu.unicauca.repositories;
+
+import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.services.AccountCache;
+import co.edu.unicauca.services.AccountDetailsService;
+import co.edu.unicauca.services.AccountService;
+import co.edu.unicauca.services.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica con las estadísticas de Hibernate cuántas sentencias SQL ejecuta cada ruta de lectura
+ * de cuentas, para que no vuelvan a cargar la entidad completa con sus roles y su usuario.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=statement-count-tests-secret-0123456789abcdef",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class AccountReadPathStatementCountTests {
+
+	private static final String EMAIL = "statements@unicauca.edu.co";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountDetailsService accountDetailsService;
+
+	@Autowired
+	private AccountCache accountCache;
+
+	private Statistics statistics;
+
+	private Long accountId;
+
+	@BeforeEach
+	void setUp() {
+		if (!accountService.emailExists(EMAIL)) {
+			User user = new User();
+			user.setNames("Ana");
+			user.setLastNames("Pérez");
+			Account account = new Account();
+			account.setEmail(EMAIL);
+			account.setPassword("123456");
+			account.setRoles(Set.of(Role.STUDENT));
+			UserRegisterDTO dto = new UserRegisterDTO();
+			dto.setUser(user);
+			dto.setAccount(account);
+			userService.userRegister(dto);
+		}
+		accountId = accountService.getAccountIdByEmail(EMAIL);
+		accountCache.invalidate(accountId, EMAIL);
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void emailExistsRunsOneStatement() {
+		accountService.emailExists(EMAIL);
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void accountIdEndpointRunsOneStatementWithoutLoadingEntities() throws Exception {
+		mockMvc.perform(get("/auth/account-id").param("userEmail", EMAIL))
+				.andExpect(status().isOk());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void validateRoleEndpointRunsOneStatementAndThenUsesTheCache() throws Exception {
+		mockMvc.perform(get("/auth/validate-role/{accountId}/{role}", accountId, "STUDENT"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/auth/validate-role/{accountId}/{role}", accountId, "STUDENT"))
+				.andExpect(status().isOk());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void loadUserByUsernameRunsOneStatement() {
+		accountDetailsService.loadUserByUsername(EMAIL);
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void bulkEndpointsRunOneStatementPerRequest() throws Exception {
+		mockMvc.perform(post("/auth/account-ids")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[\"" + EMAIL + "\", \"missing@unicauca.edu.co\"]"))
+				.andExpect(status().isOk());
+		mockMvc.perform(post("/auth/validate-roles")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"role\": \"STUDENT\", \"accountIds\": " + List.of(accountId, -1L) + "}"))
+				.andExpect(status().isOk());
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+}
@@ -0,0 +1,88 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica la caché negativa de correos sin cuenta: un correo inexistente se consulta una sola vez
+ * para el login y la búsqueda de ID, y registrar la cuenta invalida la entrada.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=negative-lookup-tests-secret-0123456789abcdef",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class AccountCacheNegativeLookupTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AccountDetailsService accountDetailsService;
+
+	@Autowired
+	private AccountCache accountCache;
+
+	@Autowired
+	private UserService userService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void unknownEmailIsLookedUpOnceForLoginAndAccountId() throws Exception {
+		String missing = "missing-" + System.nanoTime() + "@unicauca.edu.co";
+		accountDetailsService.loadUserByUsername(missing);
+		accountDetailsService.loadUserByUsername(missing);
+		mockMvc.perform(get("/auth/account-id").param("userEmail", missing))
+				.andExpect(status().isNotFound());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void registeringTheEmailClearsTheNegativeEntry() {
+		String email = "late-" + System.nanoTime() + "@unicauca.edu.co";
+		assertTrue(accountCache.findByEmail(email).isEmpty());
+
+		User user = new User();
+		user.setNames("Sofía");
+		user.setLastNames("Gómez");
+		Account account = new Account();
+		account.setEmail(email);
+		account.setPassword("123456");
+		account.setRoles(Set.of(Role.STUDENT));
+		UserRegisterDTO dto = new UserRegisterDTO();
+		dto.setUser(user);
+		dto.setAccount(account);
+		userService.userRegister(dto);
+
+		assertTrue(accountCache.findByEmail(email).isPresent());
+	}
+}
@@ -0,0 +1,144 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.authentication.AccountSnapshot;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.events.AccountChangedEvent;
+import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.repositories.AccountRoleView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la invalidación de {@link AccountCache}: que un {@link AccountChangedEvent} con el ID o con
+ * el correo descarte la cuenta en ambos índices, y que una lectura que empezó antes de una invalidación
+ * no deje en la caché una copia desactualizada ni recuerde como inexistente un correo recién registrado.
+ * El repositorio es un doble en memoria que puede detener una lectura para intercalar la invalidación.
+ */
+class AccountCacheTests {
+
+	private final Map<Long, AccountRoleView> rows = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	// Si no es null, la siguiente lectura del repositorio avisa en "entered" y espera "release"
+	private volatile CountDownLatch entered;
+	private volatile CountDownLatch release;
+	private final AccountCache accountCache = new AccountCache(repository(), new SimpleMeterRegistry(),
+			1000, 60_000, 1000, 60_000);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void eventWithIdInvalidatesBothIndexes() {
+		rows.put(1L, row(1L, "ana@unicauca.edu.co", Role.STUDENT));
+		accountCache.findById(1L);
+		rows.put(1L, row(1L, "ana@unicauca.edu.co", Role.COORDINATOR));
+		assertEquals(Set.of(Role.STUDENT), accountCache.findByEmail("ana@unicauca.edu.co").orElseThrow().roles());
+
+		accountCache.onAccountChanged(new AccountChangedEvent(1L, null));
+
+		assertEquals(Set.of(Role.COORDINATOR), accountCache.findByEmail("ana@unicauca.edu.co").orElseThrow().roles());
+		assertEquals(Set.of(Role.COORDINATOR), accountCache.findById(1L).orElseThrow().roles());
+	}
+
+	@Test
+	void eventWithEmailInvalidatesTheEmailAndTheNegativeEntry() {
+		assertTrue(accountCache.findByEmail("luis@unicauca.edu.co").isEmpty());
+		rows.put(2L, row(2L, "luis@unicauca.edu.co", Role.STUDENT));
+		assertTrue(accountCache.findByEmail("luis@unicauca.edu.co").isEmpty());
+
+		accountCache.onAccountChanged(new AccountChangedEvent(null, "luis@unicauca.edu.co"));
+
+		assertEquals(2L, accountCache.findByEmail("luis@unicauca.edu.co").orElseThrow().id());
+	}
+
+	@Test
+	void readStartedBeforeAnInvalidationDoesNotFillTheOtherIndex() throws Exception {
+		rows.put(3L, row(3L, "eva@unicauca.edu.co", Role.STUDENT));
+		Future<Optional<AccountSnapshot>> stale = whileReadIsPaused(() -> accountCache.findById(3L), () -> {
+			// La cuenta cambia y su evento llega mientras la lectura anterior sigue en curso
+			rows.put(3L, row(3L, "eva@unicauca.edu.co", Role.DIRECTOR));
+			accountCache.invalidate(null, "eva@unicauca.edu.co");
+		});
+
+		assertEquals(Set.of(Role.STUDENT), stale.get(10, TimeUnit.SECONDS).orElseThrow().roles());
+		assertEquals(Set.of(Role.DIRECTOR), accountCache.findByEmail("eva@unicauca.edu.co").orElseThrow().roles());
+	}
+
+	@Test
+	void missingEmailReadBeforeRegistrationIsNotRemembered() throws Exception {
+		Future<Optional<Long>> missing = whileReadIsPaused(() -> accountCache.findIdByEmail("sol@unicauca.edu.co"), () -> {
+			rows.put(4L, row(4L, "sol@unicauca.edu.co", Role.STUDENT));
+			accountCache.invalidate(4L, "sol@unicauca.edu.co");
+		});
+
+		assertTrue(missing.get(10, TimeUnit.SECONDS).isEmpty());
+		assertEquals(Optional.of(4L), accountCache.findIdByEmail("sol@unicauca.edu.co"));
+	}
+
+	/**
+	 * Ejecuta {@code read} en otro hilo, lo detiene dentro del repositorio después de leer, ejecuta
+	 * {@code change} y luego deja terminar la lectura.
+	 */
+	private <T> Future<T> whileReadIsPaused(Callable<T> read, Runnable change) throws Exception {
+		CountDownLatch readEntered = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+		entered = readEntered;
+		Future<T> result = executor.submit(read);
+		assertTrue(readEntered.await(10, TimeUnit.SECONDS));
+		change.run();
+		release.countDown();
+		return result;
+	}
+
+	private <T> T pauseIfRequested(T result) throws InterruptedException {
+		CountDownLatch pausedAt = entered;
+		if (pausedAt != null) {
+			entered = null;
+			pausedAt.countDown();
+			release.await(10, TimeUnit.SECONDS);
+		}
+		return result;
+	}
+
+	private AccountRepository repository() {
+		return (AccountRepository) Proxy.newProxyInstance(AccountRepository.class.getClassLoader(),
+				new Class<?>[]{AccountRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+					case "findRoleRowById" -> pauseIfRequested(Optional.ofNullable(rows.get((Long) args[0])));
+					case "findRoleRowsByIdIn" -> pauseIfRequested(((Collection<?>) args[0]).stream()
+							.map(rows::get).filter(row -> row != null).toList());
+					case "findRoleRowByEmail" -> pauseIfRequested(findByEmail((String) args[0]));
+					case "findIdByEmail" -> pauseIfRequested(findByEmail((String) args[0]).map(AccountRoleView::getId));
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private Optional<AccountRoleView> findByEmail(String email) {
+		return rows.values().stream().filter(row -> row.getEmail().equals(email)).findFirst();
+	}
+
+	private static AccountRoleView row(Long id, String email, Role role) {
+		return new Row(id, email, "{noop}secret", Set.of(role), true);
+	}
+
+	private record Row(Long getId, String getEmail, String getPassword, Set<Role> getRoles, boolean isEnabled)
+			implements AccountRoleView {}
+}
@@ -0,0 +1,93 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.enums.AuthErrorCode;
+import co.edu.unicauca.exceptions.AuthException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica el límite de intentos de inicio de sesión: el límite por IP, el bloqueo temporal por
+ * correo tras varios fallos y que ese bloqueo se refleje en los detalles de la cuenta que revisa
+ * Spring Security. Cada prueba usa su propia IP y sus propios correos para no compartir contadores.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=login-throttle-tests-secret-0123456789abcdef",
+		"loginThrottle.ipMaxAttempts=5",
+		"loginThrottle.emailMaxFailures=3"
+})
+class LoginThrottleServiceTests {
+
+	@Autowired
+	private LoginThrottleService loginThrottleService;
+
+	@Autowired
+	private AccountDetailsService accountDetailsService;
+
+	@Test
+	void ipIsLimitedAcrossEmails() {
+		for (int i = 0; i < 5; i++) {
+			String email = "ip-limit-" + i + "@unicauca.edu.co";
+			assertDoesNotThrow(() -> loginThrottleService.checkAllowed("10.1.0.1", email));
+		}
+
+		AuthException rejected = assertThrows(AuthException.class,
+				() -> loginThrottleService.checkAllowed("10.1.0.1", "ip-limit-5@unicauca.edu.co"));
+		assertEquals(AuthErrorCode.TOO_MANY_LOGIN_ATTEMPTS, rejected.getErrorCode());
+		assertTrue(rejected.getRetryAfterSeconds() > 0);
+
+		// Otra IP no comparte el límite
+		assertDoesNotThrow(() -> loginThrottleService.checkAllowed("10.1.0.2", "ip-limit-5@unicauca.edu.co"));
+	}
+
+	@Test
+	void failuresLockTheEmailRegardlessOfCaseAndIp() {
+		String email = "lockout-" + System.nanoTime() + "@unicauca.edu.co";
+		loginThrottleService.recordFailure(email);
+		loginThrottleService.recordFailure(email.toUpperCase());
+		assertFalse(loginThrottleService.isLocked(email));
+
+		loginThrottleService.recordFailure(" " + email);
+
+		assertTrue(loginThrottleService.isLocked(email));
+		assertTrue(loginThrottleService.secondsUntilUnlocked(email) > 0);
+		AuthException rejected = assertThrows(AuthException.class,
+				() -> loginThrottleService.checkAllowed("10.1.0.3", email));
+		assertEquals(AuthErrorCode.TOO_MANY_LOGIN_ATTEMPTS, rejected.getErrorCode());
+	}
+
+	@Test
+	void successClearsTheFailures() {
+		String email = "success-" + System.nanoTime() + "@unicauca.edu.co";
+		loginThrottleService.recordFailure(email);
+		loginThrottleService.recordFailure(email);
+		loginThrottleService.recordSuccess(email);
+		loginThrottleService.recordFailure(email);
+
+		assertFalse(loginThrottleService.isLocked(email));
+	}
+
+	@Test
+	void lockIsReflectedInAccountDetails() {
+		String existing = "coordinador@unicauca.edu.co";
+		String unknown = "unknown-" + System.nanoTime() + "@unicauca.edu.co";
+		assertTrue(accountDetailsService.loadUserByUsername(existing).isAccountNonLocked());
+
+		for (int i = 0; i < 3; i++) {
+			loginThrottleService.recordFailure(existing);
+			loginThrottleService.recordFailure(unknown);
+		}
+
+		UserDetails details = accountDetailsService.loadUserByUsername(existing);
+		assertFalse(details.isAccountNonLocked());
+		// Un correo inexistente se bloquea igual, para no revelar cuáles existen
+		assertFalse(accountDetailsService.loadUserByUsername(unknown).isAccountNonLocked());
+	}
+}
@@ -0,0 +1,64 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.enums.AuthErrorCode;
+import co.edu.unicauca.exceptions.AuthException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifica la rotación de tokens de refresco: cada token sirve una sola vez y reutilizar uno ya
+ * usado revoca toda su familia.
+ */
+@SpringBootTest(properties = "jwt.secret=refresh-token-tests-secret-0123456789abcdef")
+class RefreshTokenServiceTests {
+
+	private static final Long ACCOUNT_ID = 1L;
+
+	@Autowired
+	private RefreshTokenService refreshTokenService;
+
+	@Test
+	void rotationReturnsANewTokenForTheSameAccount() {
+		String first = refreshTokenService.issue(ACCOUNT_ID);
+
+		RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+		assertEquals(ACCOUNT_ID, rotation.accountId());
+		assertNotEquals(first, rotation.refreshToken());
+	}
+
+	@Test
+	void reusingAConsumedTokenRevokesTheWholeFamily() {
+		String first = refreshTokenService.issue(ACCOUNT_ID);
+		String second = refreshTokenService.rotate(first).refreshToken();
+
+		assertInvalid(() -> refreshTokenService.rotate(first));
+		// El reemplazo legítimo también queda revocado: quien robó el token no puede seguir usándolo
+		assertInvalid(() -> refreshTokenService.rotate(second));
+	}
+
+	@Test
+	void logoutRevokesTheFamily() {
+		String first = refreshTokenService.issue(ACCOUNT_ID);
+		String second = refreshTokenService.rotate(first).refreshToken();
+
+		refreshTokenService.revoke(second);
+
+		assertInvalid(() -> refreshTokenService.rotate(second));
+	}
+
+	@Test
+	void unknownTokenIsRejected() {
+		assertInvalid(() -> refreshTokenService.rotate("not-a-refresh-token"));
+	}
+
+	private static void assertInvalid(Runnable rotation) {
+		AuthException error = assertThrows(AuthException.class, rotation::run);
+		assertEquals(AuthErrorCode.INVALID_REFRESH_TOKEN, error.getErrorCode());
+	}
+}
@@ -0,0 +1,124 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la lista de revocación: tokens individuales, cortes por cuenta, la rehabilitación de
+ * cuentas, que las revocaciones sobrevivan a la reconstrucción del filtro de Bloom, incluso las hechas
+ * mientras se reconstruye, y que una revocación revertida no se aplique.
+ */
+@SpringBootTest(properties = "jwt.secret=revocation-tests-secret-0123456789abcdef")
+class TokenRevocationServiceTests {
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void revokedTokenIdIsRejectedAndOthersAreNot() {
+		VerifiedToken revoked = token(100L, Instant.now());
+		VerifiedToken other = token(100L, Instant.now());
+
+		tokenRevocationService.revokeToken(revoked.tokenId(), Instant.now().plus(1, ChronoUnit.HOURS));
+
+		assertTrue(tokenRevocationService.isRevoked(revoked));
+		assertFalse(tokenRevocationService.isRevoked(other));
+	}
+
+	@Test
+	void revocationsSurviveFilterRebuild() {
+		VerifiedToken revoked = token(101L, Instant.now());
+		tokenRevocationService.revokeToken(revoked.tokenId(), Instant.now().plus(1, ChronoUnit.HOURS));
+
+		tokenRevocationService.sync();
+
+		assertTrue(tokenRevocationService.isRevoked(revoked));
+	}
+
+	@Test
+	void reinstatingAnAccountKeepsOldTokensRejected() {
+		Long accountId = 102L;
+		VerifiedToken beforeDisable = token(accountId, Instant.now().minus(1, ChronoUnit.MINUTES));
+
+		tokenRevocationService.revokeAccount(accountId);
+		assertTrue(tokenRevocationService.isRevoked(beforeDisable));
+
+		tokenRevocationService.reinstateAccount(accountId);
+		VerifiedToken afterReinstate = token(accountId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+		assertTrue(tokenRevocationService.isRevoked(beforeDisable));
+		assertFalse(tokenRevocationService.isRevoked(afterReinstate));
+	}
+
+	@Test
+	void rolledBackRevocationIsNotApplied() {
+		VerifiedToken token = token(103L, Instant.now());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			tokenRevocationService.revokeToken(token.tokenId(), Instant.now().plus(1, ChronoUnit.HOURS));
+			status.setRollbackOnly();
+		});
+
+		assertFalse(tokenRevocationService.isRevoked(token));
+	}
+
+	@Test
+	void revocationsDuringRebuildAreNotLost() throws Exception {
+		List<VerifiedToken> tokens = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			tokens.add(token(104L, Instant.now()));
+		}
+		AtomicBoolean revoking = new AtomicBoolean(true);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> syncing = pool.submit(() -> {
+				while (revoking.get()) {
+					tokenRevocationService.sync();
+				}
+			});
+			pool.submit(() -> {
+				try {
+					for (VerifiedToken token : tokens) {
+						tokenRevocationService.revokeToken(token.tokenId(), Instant.now().plus(1, ChronoUnit.HOURS));
+					}
+				} finally {
+					revoking.set(false);
+				}
+			}).get(60, TimeUnit.SECONDS);
+			syncing.get(60, TimeUnit.SECONDS);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		for (VerifiedToken token : tokens) {
+			assertTrue(tokenRevocationService.isRevoked(token), token.tokenId());
+		}
+	}
+
+	private static VerifiedToken token(Long accountId, Instant issuedAt) {
+		return VerifiedToken.valid(accountId, "revocation@unicauca.edu.co", Set.of(Role.STUDENT),
+				UUID.randomUUID().toString(), issuedAt, issuedAt.plus(15, ChronoUnit.MINUTES));
+	}
+}
@@ -0,0 +1,102 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que un login con un correo inexistente tarde lo mismo que uno con contraseña incorrecta
+ * de una cuenta real, para que el tiempo de respuesta no revele qué correos están registrados.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=login-timing-tests-secret-0123456789abcdef",
+		// Costo fijo: suficiente para que domine el hash, sin alargar la prueba
+		"passwordEncoder.bcrypt.strength=8"
+})
+class UnknownAccountLoginTimingTests {
+
+	private static final String EMAIL = "timing@unicauca.edu.co";
+	private static final int WARMUP = 5;
+	private static final int ROUNDS = 30;
+	private static final double TOLERANCE = 0.25;
+
+	@Autowired
+	private AuthenticationManager authenticationManager;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Test
+	void unknownEmailTakesAsLongAsWrongPassword() {
+		registerAccount();
+
+		for (int i = 0; i < WARMUP; i++) {
+			failedLoginNanos(EMAIL);
+			failedLoginNanos("nobody-" + i + "@unicauca.edu.co");
+		}
+
+		long[] wrongPassword = new long[ROUNDS];
+		long[] unknownEmail = new long[ROUNDS];
+		for (int i = 0; i < ROUNDS; i++) {
+			// Se alternan para que el ruido de la máquina afecte a ambos caminos por igual
+			if (i % 2 == 0) {
+				wrongPassword[i] = failedLoginNanos(EMAIL);
+				unknownEmail[i] = failedLoginNanos("nobody-" + i + "@unicauca.edu.co");
+			} else {
+				unknownEmail[i] = failedLoginNanos("nobody-" + i + "@unicauca.edu.co");
+				wrongPassword[i] = failedLoginNanos(EMAIL);
+			}
+		}
+
+		long known = median(wrongPassword);
+		long unknown = median(unknownEmail);
+		assertTrue(Math.abs(known - unknown) <= TOLERANCE * Math.max(known, unknown),
+				"wrong password median " + known / 1000 + " µs, unknown email median " + unknown / 1000 + " µs");
+	}
+
+	private long failedLoginNanos(String email) {
+		long start = System.nanoTime();
+		assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(
+				new UsernamePasswordAuthenticationToken(email, "wrong-password")));
+		return System.nanoTime() - start;
+	}
+
+	private void registerAccount() {
+		if (accountService.emailExists(EMAIL)) {
+			return;
+		}
+		User user = new User();
+		user.setNames("Tomás");
+		user.setLastNames("Ruiz");
+		Account account = new Account();
+		account.setEmail(EMAIL);
+		account.setPassword("123456");
+		account.setRoles(Set.of(Role.STUDENT));
+		UserRegisterDTO dto = new UserRegisterDTO();
+		dto.setUser(user);
+		dto.setAccount(account);
+		userService.userRegister(dto);
+	}
+
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
@@ -0,0 +1,89 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.repositories.AccountRepository;
+import co.edu.unicauca.services.UserSeedService.SeedResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la carga de usuarios iniciales desde CSV y JSON: que se inserten los usuarios del archivo,
+ * que se omitan los correos ya registrados, que las contraseñas con un prefijo {@code {id}} conocido se
+ * guarden sin cambios y que el resto, aunque empiece con llaves, se codifique.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=user-seed-tests-secret-0123456789abcdef",
+		"passwordEncoder.bcrypt.strength=4"
+})
+class UserSeedServiceTests {
+
+	@Autowired
+	private UserSeedService userSeedService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@TempDir
+	private Path dir;
+
+	@Test
+	void loadsCsvSkippingExistingEmails() throws Exception {
+		String prefix = "seed-" + System.nanoTime();
+		String encoded = passwordEncoder.encode("123456");
+		Path file = write("users.csv", String.join("\n",
+				"# comentario",
+				"email,password,names,lastNames,roles",
+				prefix + "-encoded@unicauca.edu.co," + encoded + ",Ana,Pérez,STUDENT",
+				prefix + "-plain@unicauca.edu.co,{secreto},Luis,Gil,STUDENT|COORDINATOR",
+				"COORDINADOR@unicauca.edu.co,123456,Laura,Martínez,COORDINATOR"));
+
+		SeedResult result = userSeedService.seed("file:" + file, 0, "");
+
+		assertEquals(new SeedResult(2, 1), result);
+		assertEquals(encoded, account(prefix + "-encoded@unicauca.edu.co").getPassword());
+		Account plain = account(prefix + "-plain@unicauca.edu.co");
+		assertNotEquals("{secreto}", plain.getPassword());
+		assertTrue(passwordEncoder.matches("{secreto}", plain.getPassword()));
+		assertEquals(Set.of(Role.STUDENT, Role.COORDINATOR), plain.getRoles());
+
+		// Una segunda carga del mismo archivo no inserta nada
+		assertEquals(new SeedResult(0, 3), userSeedService.seed("file:" + file, 0, ""));
+	}
+
+	@Test
+	void loadsJson() throws Exception {
+		String email = "seed-" + System.nanoTime() + "-json@unicauca.edu.co";
+		Path file = write("users.json", """
+				[{"email": "%s", "password": "123456", "names": "Eva", "lastNames": "Ríos", "roles": ["DIRECTOR"]}]
+				""".formatted(email));
+
+		assertEquals(new SeedResult(1, 0), userSeedService.seed("file:" + file, 0, ""));
+		Account account = account(email);
+		assertTrue(passwordEncoder.matches("123456", account.getPassword()));
+		assertEquals(Set.of(Role.DIRECTOR), account.getRoles());
+	}
+
+	private Account account(String email) {
+		return accountRepository.findByEmail(email).orElseThrow();
+	}
+
+	private Path write(String name, String content) throws Exception {
+		return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,114 @@
+package co.edu.unicauca.services;
+
+import co.edu.unicauca.dtos.BulkRegisterResponseDTO;
+import co.edu.unicauca.dtos.BulkRegisterResultDTO;
+import co.edu.unicauca.dtos.BulkRegisterResultDTO.Status;
+import co.edu.unicauca.dtos.UserRegisterDTO;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.entities.User;
+import co.edu.unicauca.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica el registro masivo: el resultado por usuario, la detección de correos repetidos sin
+ * distinguir mayúsculas (dentro de la solicitud y frente a los ya registrados) y que un usuario que viola una restricción de la base de datos no impida
+ * guardar a los demás del mismo lote.
+ */
+@SpringBootTest(properties = {
+		"jwt.secret=bulk-register-tests-secret-0123456789abcdef",
+		"passwordEncoder.bcrypt.strength=4"
+})
+class UserServiceBulkRegisterTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Test
+	void reportsEachUserInRequestOrder() {
+		String prefix = "bulk-" + System.nanoTime();
+		String existing = prefix + "-existing@unicauca.edu.co";
+		userService.bulkRegister(List.of(registration(existing, "Ana")));
+
+		BulkRegisterResponseDTO response = userService.bulkRegister(List.of(
+				registration(prefix + "-new@unicauca.edu.co", "Luis"),
+				registration(prefix + "-NEW@unicauca.edu.co ", "Luis"),
+				registration(existing, "Ana"),
+				registration(prefix + "-invalid@unicauca.edu.co", "")));
+
+		List<BulkRegisterResultDTO> results = response.getResults();
+		assertEquals(Status.CREATED, results.get(0).getStatus());
+		assertNotNull(results.get(0).getIdAccount());
+		assertEquals(Status.DUPLICATE, results.get(1).getStatus());
+		assertEquals(Status.DUPLICATE, results.get(2).getStatus());
+		assertEquals(Status.INVALID, results.get(3).getStatus());
+		assertEquals(1, response.getCreated());
+		assertEquals(3, response.getFailed());
+	}
+
+	@Test
+	void emailsAreNormalizedBeforeCheckingAndStoring() {
+		String prefix = "bulk-" + System.nanoTime();
+		userService.bulkRegister(List.of(registration(prefix + "-foo@unicauca.edu.co", "Ana")));
+
+		BulkRegisterResponseDTO response = userService.bulkRegister(List.of(
+				registration(prefix + "-FOO@unicauca.edu.co", "Ana"),
+				registration(" " + prefix + "-Bar@Unicauca.edu.co", "Luis")));
+
+		List<BulkRegisterResultDTO> results = response.getResults();
+		assertEquals(Status.DUPLICATE, results.get(0).getStatus());
+		assertEquals(Status.CREATED, results.get(1).getStatus());
+		assertEquals(prefix + "-bar@unicauca.edu.co", results.get(1).getEmail());
+		assertTrue(accountService.emailExists(prefix + "-BAR@unicauca.edu.co"));
+		assertEquals(results.get(1).getIdAccount(), accountService.getAccountIdByEmail(prefix + "-bar@unicauca.edu.co"));
+		// El registro individual compara igual que el masivo
+		assertThrows(IllegalArgumentException.class,
+				() -> userService.userRegister(registration(prefix + "-Foo@unicauca.edu.co", "Ana")));
+	}
+
+	@Test
+	void constraintViolationOnlyFailsTheOffendingUser() {
+		String prefix = "bulk-" + System.nanoTime();
+		// Supera el largo de la columna names: pasa la validación pero la base de datos lo rechaza
+		String tooLong = "N".repeat(300);
+
+		BulkRegisterResponseDTO response = userService.bulkRegister(List.of(
+				registration(prefix + "-a@unicauca.edu.co", "Ana"),
+				registration(prefix + "-b@unicauca.edu.co", tooLong),
+				registration(prefix + "-c@unicauca.edu.co", "Carlos")));
+
+		List<BulkRegisterResultDTO> results = response.getResults();
+		assertEquals(Status.CREATED, results.get(0).getStatus());
+		assertEquals(Status.FAILED, results.get(1).getStatus());
+		assertEquals(Status.CREATED, results.get(2).getStatus());
+		assertEquals(2, response.getCreated());
+		assertTrue(accountService.emailExists(prefix + "-a@unicauca.edu.co"));
+		assertTrue(accountService.emailExists(prefix + "-c@unicauca.edu.co"));
+	}
+
+	private static UserRegisterDTO registration(String email, String names) {
+		User user = new User();
+		user.setNames(names);
+		user.setLastNames("Pérez");
+		Account account = new Account();
+		account.setEmail(email);
+		account.setPassword("123456");
+		account.setRoles(Set.of(Role.STUDENT));
+		UserRegisterDTO dto = new UserRegisterDTO();
+		dto.setUser(user);
+		dto.setAccount(account);
+		return dto;
+	}
+}
@@ -0,0 +1,82 @@
+package co.edu.unicauca.utilities;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica el anillo de claves JWT: que no inicie sin clave de firma y que la rotación publique la
+ * clave nueva, conserve la anterior durante el solapamiento y cambie el ETag del JWKS.
+ */
+class JwtKeyRingTests {
+
+	private static final String SECRET = "key-ring-tests-secret-0123456789abcdef";
+
+	@Test
+	void rs256WithoutPrivateKeyFailsUnlessGenerationIsAllowed() {
+		assertThrows(IllegalStateException.class, () -> rs256Ring(false));
+		assertNotNull(rs256Ring(true).activeKey());
+	}
+
+	@Test
+	void hs256WithoutSecretFails() {
+		assertThrows(IllegalStateException.class, () -> new JwtKeyRing("", "k1", List.of(),
+				SignatureAlgorithm.HS256, "", false, 0, 900_000));
+	}
+
+	@Test
+	void rotationPublishesNewKeyAndKeepsPreviousOne() throws InterruptedException {
+		JwtKeyRing keyRing = rs256Ring(true);
+		String previousKid = keyRing.activeKey().kid();
+		JwtKeyRing.Jwks before = keyRing.jwks();
+
+		// Los kid generados se basan en el reloj en milisegundos
+		Thread.sleep(2);
+		String newKid = keyRing.rotateKeyPair();
+		JwtKeyRing.Jwks after = keyRing.jwks();
+
+		assertNotEquals(previousKid, newKid);
+		assertEquals(newKid, keyRing.activeKey().kid());
+		assertNotNull(keyRing.verificationKey(previousKid));
+		assertNotNull(keyRing.verificationKey(newKid));
+		assertTrue(after.json().contains("\"kid\":\"" + previousKid + "\""));
+		assertTrue(after.json().contains("\"kid\":\"" + newKid + "\""));
+		assertNotEquals(before.etag(), after.etag());
+	}
+
+	@Test
+	void retiredKeyIsNoLongerPublishedNorAccepted() throws InterruptedException {
+		JwtKeyRing keyRing = rs256Ring(true);
+		String previousKid = keyRing.activeKey().kid();
+		Thread.sleep(2);
+		keyRing.rotateKeyPair();
+		String etag = keyRing.jwks().etag();
+
+		keyRing.retire(previousKid);
+
+		assertNull(keyRing.verificationKey(previousKid));
+		assertFalse(keyRing.jwks().json().contains(previousKid));
+		assertNotEquals(etag, keyRing.jwks().etag());
+		assertThrows(IllegalArgumentException.class, () -> keyRing.retire(keyRing.activeKey().kid()));
+	}
+
+	@Test
+	void jwksOmitsHmacKeys() {
+		JwtKeyRing keyRing = new JwtKeyRing(SECRET, "k1", List.of(), SignatureAlgorithm.HS256, "", false, 0, 900_000);
+
+		assertEquals("{\"keys\":[]}", keyRing.jwks().json());
+	}
+
+	private static JwtKeyRing rs256Ring(boolean generateKeys) {
+		return new JwtKeyRing("", "k1", List.of(), SignatureAlgorithm.RS256, "", generateKeys, 0, 900_000);
+	}
+}
@@ -0,0 +1,172 @@
+package co.edu.unicauca.utilities;
+
+import co.edu.unicauca.authentication.AccountDetails;
+import co.edu.unicauca.authentication.VerifiedToken;
+import co.edu.unicauca.entities.Account;
+import co.edu.unicauca.enums.Role;
+import co.edu.unicauca.enums.TokenRejectReason;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la verificación de tokens de {@link JwtUtils#verify}: los datos de un token válido con cada
+ * algoritmo y el motivo de rechazo ({@link TokenRejectReason}) de cada tipo de token inválido.
+ */
+class JwtUtilsTests {
+
+	private static final String SECRET = "jwt-utils-tests-secret-0123456789abcdef";
+
+	private final JwtKeyRing hs256Ring = new JwtKeyRing(SECRET, "k1", List.of(), SignatureAlgorithm.HS256, "",
+			false, 0, 900_000);
+	private final JwtUtils hs256 = jwtUtils(hs256Ring);
+	private final JwtKeyRing rs256Ring = new JwtKeyRing("", "k1", List.of(), SignatureAlgorithm.RS256, "",
+			true, 0, 900_000);
+	private final JwtUtils rs256 = jwtUtils(rs256Ring);
+
+	@Test
+	void validTokensCarryTheirClaims() {
+		for (JwtUtils jwtUtils : List.of(hs256, rs256)) {
+			VerifiedToken verified = jwtUtils.verify(jwtUtils.generateJwtToken(account(42L, Role.STUDENT, Role.COORDINATOR)));
+
+			assertTrue(verified.isValid());
+			assertEquals(42L, verified.accountId());
+			assertEquals("verify@unicauca.edu.co", verified.email());
+			assertEquals(EnumSet.of(Role.STUDENT, Role.COORDINATOR), verified.roles());
+			assertTrue(verified.tokenId() != null && verified.issuedAt() != null && verified.expiresAt() != null);
+		}
+	}
+
+	@Test
+	void legacyRoleNamesAreRead() {
+		String token = signed(hs256Ring).claim("roles", List.of("DIRECTOR", "UNKNOWN")).compact();
+
+		assertEquals(Set.of(Role.DIRECTOR), hs256.verify(token).roles());
+	}
+
+	@Test
+	void missingOrMalformedTokens() {
+		assertEquals(TokenRejectReason.MISSING, hs256.verify(null).rejectReason());
+		assertEquals(TokenRejectReason.MISSING, hs256.verify(" ").rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED, hs256.verify("abc").rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED, hs256.verify("a..c").rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED, hs256.verify("a.b.c.d").rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED, hs256.verify("ab*c.abcd.abcd").rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED, hs256.verify("abcde.abcd.abcd").rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED, hs256.verify(segment("not json") + ".abcd.abcd").rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED,
+				hs256.verify(segment("{\"alg\":\"HS256\",\"kid\":1}") + ".abcd.abcd").rejectReason());
+	}
+
+	@Test
+	void unsupportedAlgorithms() {
+		assertEquals(TokenRejectReason.UNSUPPORTED,
+				hs256.verify(segment("{\"alg\":\"none\"}") + ".abcd.abcd").rejectReason());
+		assertEquals(TokenRejectReason.UNSUPPORTED,
+				hs256.verify(segment("{\"alg\":\"HS512\",\"kid\":\"k1\"}") + ".abcd.abcd").rejectReason());
+		assertEquals(TokenRejectReason.UNSUPPORTED,
+				hs256.verify(segment("{\"alg\":\"HS256\",\"zip\":\"DEF\"}") + ".abcd.abcd").rejectReason());
+	}
+
+	@Test
+	void badSignatures() {
+		String token = hs256.generateJwtToken(account(42L, Role.STUDENT));
+		String[] parts = token.split("\\.");
+		String otherPayload = signed(hs256Ring).claim("idAccount", 1L).compact().split("\\.")[1];
+		JwtKeyRing otherRing = new JwtKeyRing("jwt-utils-tests-other-secret-0123456789", "k1", List.of(),
+				SignatureAlgorithm.HS256, "", false, 0, 900_000);
+
+		// Payload alterado, firma de otro secreto con el mismo kid, kid desconocido y firma truncada
+		assertEquals(TokenRejectReason.BAD_SIGNATURE,
+				hs256.verify(parts[0] + "." + otherPayload + "." + parts[2]).rejectReason());
+		assertEquals(TokenRejectReason.BAD_SIGNATURE,
+				hs256.verify(jwtUtils(otherRing).generateJwtToken(account(42L, Role.STUDENT))).rejectReason());
+		assertEquals(TokenRejectReason.BAD_SIGNATURE,
+				hs256.verify(signed(hs256Ring).setHeaderParam(JwsHeader.KEY_ID, "k9").compact()).rejectReason());
+		String rsaToken = rs256.generateJwtToken(account(42L, Role.STUDENT));
+		assertEquals(TokenRejectReason.BAD_SIGNATURE,
+				rs256.verify(rsaToken.substring(0, rsaToken.length() - 8)).rejectReason());
+	}
+
+	@Test
+	void hmacTokenIsNotVerifiedWithTheRsaPublicKey() {
+		// Firmado con HS256 usando como secreto la clave pública, que cualquiera puede obtener del JWKS
+		byte[] publicKey = rs256Ring.verificationKey(null).getEncoded();
+		String token = Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, rs256Ring.activeKey().kid())
+				.claim("idAccount", 42L)
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Keys.hmacShaKeyFor(publicKey), SignatureAlgorithm.HS256)
+				.compact();
+
+		assertEquals(TokenRejectReason.BAD_SIGNATURE, rs256.verify(token).rejectReason());
+	}
+
+	@Test
+	void expiredAndNotYetValidTokens() {
+		long now = System.currentTimeMillis();
+		String expired = signed(hs256Ring).setExpiration(new Date(now - 1_000)).compact();
+		String notYetValid = signed(hs256Ring).setNotBefore(new Date(now + 60_000)).compact();
+
+		assertEquals(TokenRejectReason.EXPIRED, hs256.verify(expired).rejectReason());
+		assertEquals(TokenRejectReason.MALFORMED, hs256.verify(notYetValid).rejectReason());
+	}
+
+	@Test
+	void missingClaims() {
+		String withoutAccount = Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, "k1")
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(hs256Ring.activeKey().key(), SignatureAlgorithm.HS256)
+				.compact();
+		String withoutExpiration = Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, "k1")
+				.claim("idAccount", 42L)
+				.signWith(hs256Ring.activeKey().key(), SignatureAlgorithm.HS256)
+				.compact();
+
+		assertEquals(TokenRejectReason.MISSING_CLAIMS, hs256.verify(withoutAccount).rejectReason());
+		assertEquals(TokenRejectReason.MISSING_CLAIMS, hs256.verify(withoutExpiration).rejectReason());
+	}
+
+	// Token HS256 válido con idAccount y expiración, al que cada prueba agrega o reemplaza claims
+	private static JwtBuilder signed(JwtKeyRing keyRing) {
+		return Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKey().kid())
+				.claim("idAccount", 42L)
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(keyRing.activeKey().key(), SignatureAlgorithm.HS256);
+	}
+
+	private static String segment(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static AccountDetails account(Long id, Role... roles) {
+		Account account = new Account();
+		account.setIdAccount(id);
+		account.setEmail("verify@unicauca.edu.co");
+		account.setRoles(EnumSet.of(roles[0], roles));
+		return new AccountDetails(account);
+	}
+
+	private static JwtUtils jwtUtils(JwtKeyRing keyRing) {
+		JwtUtils jwtUtils = new JwtUtils(keyRing);
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900_000);
+		return jwtUtils;
+	}
+}
@@ -0,0 +1,50 @@
+package co.edu.unicauca.utilities;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que un argumento cuyo {@code toString()} falla no interrumpa el registro.
+ */
+class LoggerTests {
+
+	private static final Object FAILING_ARGUMENT = new Object() {
+		@Override
+		public String toString() {
+			throw new IllegalStateException("toString failed");
+		}
+	};
+
+	@AfterAll
+	static void restoreDefaults() {
+		Logger.configure(Logger.Level.INFO, false, false, 1024);
+	}
+
+	@Test
+	void formatsParametersInOrder() {
+		assertEquals("Cuenta 7 tiene rol STUDENT", Logger.format("Cuenta {} tiene rol {}", new Object[]{7, "STUDENT"}));
+	}
+
+	@Test
+	void synchronousWriteSurvivesFailingArgument() {
+		Logger.configure(Logger.Level.INFO, false, false, 1024);
+		assertDoesNotThrow(() -> Logger.info(LoggerTests.class, "Valor: {}", FAILING_ARGUMENT));
+	}
+
+	@Test
+	void writerThreadSurvivesFailingArgument() throws InterruptedException {
+		Logger.configure(Logger.Level.INFO, false, true, 1024);
+		Logger.info(LoggerTests.class, "Valor: {}", FAILING_ARGUMENT);
+		Thread.sleep(200);
+
+		Thread writer = Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().equals("logger-writer"))
+				.findFirst()
+				.orElseThrow();
+		assertTrue(writer.isAlive());
+	}
+}
@@ -0,0 +1,101 @@
+package co.edu.unicauca.utilities;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la clasificación de rutas públicas de {@link PublicRouteMatcher} y que
+ * {@link JwtAuthFilter#shouldNotFilter} use la misma clasificación.
+ */
+class PublicRouteMatcherTests {
+
+	private final PublicRouteMatcher matcher = new PublicRouteMatcher(List.of(
+			"/auth/login", " /auth/validate-role/** ", "/h2-console/**", "*.ico", ""));
+
+	@Test
+	void exactRouteMatchesOnlyItself() {
+		assertTrue(matcher.matches("/auth/login"));
+		assertFalse(matcher.matches("/auth/login/extra"));
+		assertFalse(matcher.matches("/auth/loginx"));
+		assertFalse(matcher.matches("/auth/logi"));
+		assertFalse(matcher.matches("/auth"));
+		assertFalse(matcher.matches("/"));
+	}
+
+	@Test
+	void prefixMatchesBarePrefixAndChildren() {
+		assertTrue(matcher.matches("/auth/validate-role"));
+		assertTrue(matcher.matches("/auth/validate-role/"));
+		assertTrue(matcher.matches("/auth/validate-role/7/STUDENT"));
+		assertTrue(matcher.matches("/h2-console/login.do"));
+		assertFalse(matcher.matches("/auth/validate-roles"));
+		assertFalse(matcher.matches("/auth/validate-rol"));
+		assertFalse(matcher.matches("/h2-consolex/login.do"));
+	}
+
+	@Test
+	void suffixMatchesAnyPath() {
+		assertTrue(matcher.matches("/favicon.ico"));
+		assertTrue(matcher.matches("/static/img/logo.ico"));
+		assertFalse(matcher.matches("/favicon.icon"));
+		assertFalse(matcher.matches("/favicon.ico/x"));
+	}
+
+	@Test
+	void trailingSlashIsADifferentRoute() {
+		assertFalse(matcher.matches("/auth/login/"));
+		assertFalse(matcher.matches("/auth/login//"));
+	}
+
+	@Test
+	void invalidPathsAreNotPublic() {
+		assertFalse(matcher.matches((String) null));
+		assertFalse(matcher.matches(""));
+		assertFalse(matcher.matches("auth/login"));
+	}
+
+	@Test
+	void contextPathIsIgnored() {
+		assertTrue(matcher.matches(request("/api", "/api/auth/login")));
+		assertTrue(matcher.matches(request("/api", "/api/auth/validate-role/7/STUDENT")));
+		assertFalse(matcher.matches(request("/api", "/api/users")));
+		assertFalse(matcher.matches(request("", "/api/auth/login")));
+	}
+
+	@Test
+	void blankPatternsAreSkippedAndOthersKeptInOrder() {
+		assertEquals(List.of("/auth/login", "/auth/validate-role/**", "/h2-console/**", "*.ico"), matcher.patterns());
+	}
+
+	@Test
+	void unsupportedPatternsAreRejected() {
+		for (String pattern : List.of("/auth/*", "/auth/**/x", "auth/login", "*.ico/x", "/**/login", "*.*")) {
+			assertThrows(IllegalArgumentException.class, () -> new PublicRouteMatcher(List.of(pattern)), pattern);
+		}
+	}
+
+	@Test
+	void jwtFilterSkipsExactlyThePublicRoutes() {
+		JwtAuthFilter filter = new JwtAuthFilter(null, null, null, null, matcher, new SimpleMeterRegistry(), true);
+
+		assertTrue(filter.shouldNotFilter(request("", "/auth/login")));
+		assertTrue(filter.shouldNotFilter(request("/api", "/api/auth/validate-role/7/STUDENT")));
+		assertFalse(filter.shouldNotFilter(request("", "/auth/loginx")));
+		assertFalse(filter.shouldNotFilter(request("", "/auth")));
+		assertFalse(filter.shouldNotFilter(request("", "/users")));
+	}
+
+	private static MockHttpServletRequest request(String contextPath, String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		request.setContextPath(contextPath);
+		return request;
+	}
+}
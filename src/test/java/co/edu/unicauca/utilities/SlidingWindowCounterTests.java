@@ -0,0 +1,194 @@
+package co.edu.unicauca.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica el contador de ventana deslizante: el límite, la ponderación de la ventana anterior, el
+ * tiempo de espera calculado y que bajo concurrencia, incluso en el cambio de ventana, no se registren
+ * más eventos que el límite.
+ */
+class SlidingWindowCounterTests {
+
+	private static final long WINDOW_MS = 1000;
+
+	@Test
+	void tryAcquireStopsAtTheLimit() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+
+		for (int i = 0; i < 5; i++) {
+			assertTrue(counter.tryAcquire(5, 100));
+		}
+		assertFalse(counter.tryAcquire(5, 100));
+		assertEquals(5.0, counter.estimate(100));
+	}
+
+	@Test
+	void previousWindowIsWeightedByItsRemainingOverlap() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		counter.add(10, 0);
+
+		assertEquals(10.0, counter.estimate(999));
+		assertEquals(10.0, counter.estimate(1000));
+		assertEquals(5.0, counter.estimate(1500));
+		counter.increment(1500);
+		assertEquals(6.0, counter.estimate(1500));
+		// Dos ventanas después ya no queda nada de la primera
+		assertEquals(1.0, counter.estimate(2000));
+		assertEquals(0.0, counter.estimate(3000));
+	}
+
+	@Test
+	void skippedWindowsDiscardOldEvents() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		counter.add(10, 0);
+
+		assertTrue(counter.tryAcquire(1, 5000));
+		assertEquals(1.0, counter.estimate(5000));
+	}
+
+	@Test
+	void millisUntilAvailableIsExact() {
+		// Con la ventana anterior aún pesando, con la actual ya en el límite y sin esperar (espera 0)
+		int[][] cases = {{3, 4}, {3, 5}, {0, 5}, {8, 0}, {8, 2}};
+		for (long now : new long[] {1100, 1500, 1999}) {
+			for (int[] counts : cases) {
+				String label = "now=" + now + " previous=" + counts[0] + " current=" + counts[1];
+				long wait = counter(counts[0], counts[1], now).millisUntilAvailable(5, now);
+
+				if (wait > 0) {
+					assertFalse(counter(counts[0], counts[1], now).tryAcquire(5, now + wait - 1), label);
+				}
+				assertTrue(counter(counts[0], counts[1], now).tryAcquire(5, now + wait), label);
+			}
+		}
+	}
+
+	@Test
+	void millisUntilAvailableIsZeroBelowTheLimit() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		counter.add(4, 100);
+
+		assertEquals(0, counter.millisUntilAvailable(5, 100));
+	}
+
+	@Test
+	void countsSaturateInsteadOfOverflowing() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		counter.add(SlidingWindowCounter.MAX_COUNT, 0);
+		counter.add(100, 0);
+
+		assertEquals(SlidingWindowCounter.MAX_COUNT, counter.estimate(0));
+		assertEquals(SlidingWindowCounter.MAX_COUNT, counter.estimate(1000));
+	}
+
+	@Test
+	void resetDiscardsEvents() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		counter.add(5, 0);
+		counter.reset();
+
+		assertEquals(0.0, counter.estimate(0));
+	}
+
+	@Test
+	void rejectsNonPositiveWindow() {
+		assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(0));
+	}
+
+	@Test
+	void concurrentAcquiresNeverExceedTheLimit() throws Exception {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		int threads = 8;
+		int limit = 1000;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					int acquired = 0;
+					for (int i = 0; i < limit; i++) {
+						acquired += counter.tryAcquire(limit, 500) ? 1 : 0;
+					}
+					return acquired;
+				}));
+			}
+			start.countDown();
+			int total = 0;
+			for (Future<Integer> future : futures) {
+				total += future.get(30, TimeUnit.SECONDS);
+			}
+			assertEquals(limit, total);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void staleInstantCountsIntoTheCurrentWindow() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		counter.add(3, 999);
+		counter.add(2, 1000);
+		// Un hilo rezagado en la ventana anterior no debe borrar las cuentas ya registradas
+		counter.add(1, 999);
+
+		assertEquals(6.0, counter.estimate(1000));
+		assertFalse(counter.tryAcquire(6, 999));
+		assertTrue(counter.millisUntilAvailable(6, 999) > 1);
+	}
+
+	@Test
+	void concurrentAcquiresAcrossAWindowBoundaryNeverExceedTheLimit() throws Exception {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		int threads = 8;
+		int limit = 1000;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					int acquired = 0;
+					// Cada hilo alterna instantes a ambos lados del cambio de ventana, como peticiones concurrentes
+					for (int i = 0; i < limit; i++) {
+						acquired += counter.tryAcquire(limit, i % 2 == 0 ? 999 : 1000) ? 1 : 0;
+					}
+					return acquired;
+				}));
+			}
+			start.countDown();
+			int total = 0;
+			for (Future<Integer> future : futures) {
+				total += future.get(30, TimeUnit.SECONDS);
+			}
+			assertEquals(limit, total);
+			assertEquals(limit, counter.estimate(1000));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// Contador con eventos en la ventana anterior a la de now y en la de now
+	private static SlidingWindowCounter counter(int previous, int current, long now) {
+		SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+		long windowStart = now - now % WINDOW_MS;
+		counter.add(previous, windowStart - WINDOW_MS);
+		counter.add(current, windowStart);
+		return counter;
+	}
+}